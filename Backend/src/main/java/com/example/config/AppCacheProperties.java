@@ -0,0 +1,52 @@
+package com.example.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limits for the application cache regions, bound from {@code app.cache.*}.
+ * A region without its own entry under {@code app.cache.regions} uses {@code app.cache.defaults}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class AppCacheProperties {
+
+    private Region defaults = new Region(1000L, null, Duration.ofMinutes(10), null);
+
+    // Threads shared by all regions for stale-while-revalidate reloads
+    private int refreshThreads = 2;
+
+    private Map<String, Region> regions = new HashMap<>();
+
+    public Region forRegion(String name) {
+        Region region = regions.get(name);
+        if (region == null) {
+            return defaults;
+        }
+        return new Region(
+                region.getMaxSize() != null ? region.getMaxSize() : defaults.getMaxSize(),
+                region.getMaxWeight(),
+                region.getTtl() != null ? region.getTtl() : defaults.getTtl(),
+                region.getRefreshAfter() != null ? region.getRefreshAfter() : defaults.getRefreshAfter());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        // Maximum number of keys; ignored when maxWeight is set
+        private Long maxSize;
+        // Maximum total weight, where a cached list weighs its number of elements
+        private Long maxWeight;
+        // Entries expire this long after they were written
+        private Duration ttl;
+        // Optional: past this age the entry is still served while one background reload replaces it
+        private Duration refreshAfter;
+    }
+}
@@ -1,48 +1,109 @@
 package com.example.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(AppCacheProperties.class)
 public class CacheConfig {
-    
-    
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
+    // Cache names (regions) for different types of data
+    public static final List<String> CACHE_NAMES = List.of(
+            "bidsByTender",
+            "bidsByBidder",
+            "bidStats",
+            "bidDetails",
+            "tenderBids",
+            "bidsWithTenders",
+
+            "allBidders",
+            "bidderById",
+            "biddersByUser",
+            "bidderStats",
+
+            "allTenders",
+            "tenderById",
+            "tendersByUser"
+    );
+
     @Bean
-    public CacheManager cacheManager() {
-        // Define cache names (regions) for different types of data
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-        
-    
-        cacheManager.setCacheNames(Arrays.asList(
-            
-            "bidsByTender",      
-            "bidsByBidder",      
-            "bidStats",          
-            "bidDetails",       
-            "tenderBids",        
-            "bidsWithTenders",   
-          
-            "allBidders",        
-            "bidderById",        
-            "biddersByUser",     
-            "bidderStats",       
-            
-            
-            "allTenders",        
-            "tenderById",        
-            "tendersByUser",     
-            
-           
-            "dashboardData"      
-        ));
-        
+    public CacheManager cacheManager(AppCacheProperties properties) {
+        // Each region is a bounded Caffeine cache with its own size/weight limit, TTL and hit/miss statistics.
+        // Regions with a refresh-after serve the cached value past that age while one background reload runs.
+        Executor refreshExecutor = refreshExecutor(properties.getRefreshThreads());
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                Duration refreshAfter = properties.forRegion(name).getRefreshAfter();
+                if (refreshAfter == null) {
+                    return super.adaptCaffeineCache(name, cache);
+                }
+                return new StaleWhileRevalidateCache(name, cache, isAllowNullValues(), refreshAfter, refreshExecutor);
+            }
+        };
+        cacheManager.setCaffeine(builder(properties.getDefaults()));
+
+        for (String name : CACHE_NAMES) {
+            AppCacheProperties.Region region = properties.forRegion(name);
+            cacheManager.registerCustomCache(name, builder(region).build());
+            logger.debug("Cache region {}: {}, ttl {}, refresh after {}", name,
+                    region.getMaxWeight() != null ? "max weight " + region.getMaxWeight() : "max size " + region.getMaxSize(),
+                    region.getTtl(), region.getRefreshAfter());
+        }
+
         return cacheManager;
     }
+
+    // Small daemon pool for stale-while-revalidate reloads; when it is busy the stale value is served a while longer
+    private static Executor refreshExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(64), r -> {
+            Thread thread = new Thread(r, "cache-refresh-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static Caffeine<Object, Object> builder(AppCacheProperties.Region region) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (region.getTtl() != null) {
+            builder.expireAfterWrite(region.getTtl());
+        }
+        if (region.getMaxWeight() != null) {
+            builder.maximumWeight(region.getMaxWeight())
+                   .weigher((Object key, Object value) -> weigh(value));
+        } else if (region.getMaxSize() != null) {
+            builder.maximumSize(region.getMaxSize());
+        }
+        return builder;
+    }
+
+    // Whole-table lists dominate memory, so a cached list weighs as many units as it has elements
+    static int weigh(Object value) {
+        if (StaleWhileRevalidateCache.unwrap(value) instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        return 1;
+    }
 }
@@ -0,0 +1,128 @@
+package com.example.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Caffeine-backed cache region that keeps serving an entry once it is older than {@code refreshAfter}
+ * while one background reload replaces it. Entries still expire for good after the region's TTL.
+ *
+ * Reloads call the function the owning service registers with {@link #setReloader}, never the
+ * {@code @Cacheable} method's loader, so they do not depend on the caller's proxy chain or thread context.
+ * Without a reloader the region is a plain TTL cache. Misses are single-flight: concurrent callers for the
+ * same key wait for one load.
+ */
+public class StaleWhileRevalidateCache extends CaffeineCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaleWhileRevalidateCache.class);
+
+    private final long refreshAfterNanos;
+    private final Executor refreshExecutor;
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+    private volatile Function<Object, ?> reloader;
+
+    public StaleWhileRevalidateCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                     boolean allowNullValues, Duration refreshAfter, Executor refreshExecutor) {
+        super(name, cache, allowNullValues);
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * Loads a fresh value for a key on a refresh thread. It must be self-contained: no request-scoped state,
+     * and its own transaction if it needs one.
+     */
+    public void setReloader(Function<Object, ?> reloader) {
+        this.reloader = reloader;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object stored = getNativeCache().getIfPresent(key);
+        if (stored instanceof Stamped stamped) {
+            refreshIfStale(key, stamped);
+        }
+        return unwrap(stored);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        getNativeCache().put(key, stamp(toStoreValue(value)));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object existing = getNativeCache().asMap().putIfAbsent(key, stamp(toStoreValue(value)));
+        return existing instanceof Stamped stamped ? toValueWrapper(stamped.value) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Records exactly one hit or miss; on a miss concurrent callers wait for this load
+        Stamped stamped = (Stamped) getNativeCache().get(key, k -> {
+            try {
+                return stamp(toStoreValue(valueLoader.call()));
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        });
+        refreshIfStale(key, stamped);
+        return (T) fromStoreValue(stamped.value);
+    }
+
+    private void refreshIfStale(Object key, Stamped current) {
+        Function<Object, ?> reloader = this.reloader;
+        if (reloader == null || System.nanoTime() - current.writtenAt <= refreshAfterNanos) {
+            return;
+        }
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    Stamped fresh = stamp(toStoreValue(reloader.apply(key)));
+                    // Only replace the entry we served; if a write evicted it meanwhile, leave the slot empty
+                    getNativeCache().asMap().replace(key, current, fresh);
+                } catch (Exception e) {
+                    logger.warn("Background refresh of {}[{}] failed, keeping the cached value: {}",
+                            getName(), key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Refresh pool is saturated; a later request will try again
+            refreshing.remove(key);
+        }
+    }
+
+    // The value as the application cached it, for weighers that see the stored entry
+    static Object unwrap(Object stored) {
+        return stored instanceof Stamped stamped ? stamped.value : stored;
+    }
+
+    private static Stamped stamp(Object storeValue) {
+        return new Stamped(storeValue, System.nanoTime());
+    }
+
+    private static final class Stamped {
+        final Object value;
+        final long writtenAt;
+
+        Stamped(Object value, long writtenAt) {
+            this.value = value;
+            this.writtenAt = writtenAt;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for the app's own executors that follow {@code spring.threads.virtual.enabled}, the switch
+ * Spring Boot uses for Tomcat request threads, the task executor and the scheduler.
+ *
+ * Virtual threads need JDK 21; on an older runtime the switch is ignored (Boot does the same) and
+ * numbered daemon platform threads are used. CPU-bound pools (OCR, password hashing) do not use this and
+ * stay on bounded platform threads.
+ */
+public final class VirtualThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    public static ThreadFactory threadFactory(boolean virtual, String prefix) {
+        if (virtual) {
+            if (isSupported()) {
+                return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+            }
+            logger.warn("Virtual threads requested for {} but this is JDK {}; using platform threads",
+                    prefix, Runtime.version().feature());
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.controller;
+
+import com.example.entity.JobLock;
+import com.example.repository.JobLockRepository;
+import com.example.services.JobLockService;
+import com.example.services.LoginThrottle;
+import com.example.services.OcrAdmissionController;
+import com.example.services.OcrService;
+import com.example.services.PasswordHasher;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Operational endpoints; SecurityConfig restricts them to ROLE_ADMIN (see auth.admin-usernames).
+ */
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+public class AdminController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    // Password hashing latency and queue depth, plus login throttling counters
+    @GetMapping("/auth-stats")
+    public ResponseEntity<Map<String, Object>> getAuthStats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("hashing", passwordHasher.getStats());
+        response.put("throttle", loginThrottle.getStats());
+        return ResponseEntity.ok(response);
+    }
+
+    @Autowired
+    private OcrAdmissionController ocrAdmissionController;
+
+    @Autowired
+    private OcrService ocrService;
+
+    // OCR admission (pages and image memory in flight, wait queue), page buffer reuse and render/OCR stage times
+    @GetMapping("/ocr-stats")
+    public ResponseEntity<Map<String, Object>> getOcrStats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("admission", ocrAdmissionController.getStats());
+        response.put("pagePool", ocrService.getPagePoolStats());
+        response.put("pipeline", ocrService.getPipelineStats());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> regions = new LinkedHashMap<>();
+
+        for (String name : new TreeSet<>(cacheManager.getCacheNames())) {
+            Cache cache = cacheManager.getCache(name);
+            if (!(cache instanceof CaffeineCache caffeineCache)) {
+                continue;
+            }
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+            CacheStats stats = nativeCache.stats();
+
+            Map<String, Object> region = new LinkedHashMap<>();
+            region.put("size", nativeCache.estimatedSize());
+            region.put("hits", stats.hitCount());
+            region.put("misses", stats.missCount());
+            region.put("hitRate", Math.round(stats.hitRate() * 10000.0) / 10000.0);
+            region.put("evictions", stats.evictionCount());
+            region.put("evictionWeight", stats.evictionWeight());
+            nativeCache.policy().eviction().ifPresent(eviction -> {
+                region.put(eviction.isWeighted() ? "maxWeight" : "maxSize", eviction.getMaximum());
+                eviction.weightedSize().ifPresent(weight -> region.put("weight", weight));
+            });
+            nativeCache.policy().expireAfterWrite().ifPresent(expiry ->
+                    region.put("ttlSeconds", expiry.getExpiresAfter().toSeconds()));
+            regions.put(name, region);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("regions", regions);
+        return ResponseEntity.ok(response);
+    }
+
+    // Lease holder and last run of every job that runs on one instance at a time
+    @GetMapping("/jobs")
+    public ResponseEntity<Map<String, Object>> getJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Map<String, Object>> jobs = new ArrayList<>();
+        for (JobLock lock : jobLockRepository.findAllByOrderByJobNameAsc()) {
+            Map<String, Object> job = new LinkedHashMap<>();
+            job.put("name", lock.getJobName());
+            boolean running = lock.getLastStartedAt() != null && lock.getLockedUntil() != null
+                    && lock.getLockedUntil().isAfter(now)
+                    && (lock.getLastFinishedAt() == null || lock.getLastFinishedAt().isBefore(lock.getLastStartedAt()));
+            job.put("running", running);
+            job.put("lockedBy", lock.getLockedBy());
+            job.put("lockedUntil", lock.getLockedUntil());
+            job.put("lastStartedAt", lock.getLastStartedAt());
+            job.put("lastFinishedAt", lock.getLastFinishedAt());
+            job.put("lastDurationMs", lock.getLastDurationMs());
+            job.put("lastStatus", lock.getLastStatus());
+            job.put("lastError", lock.getLastError());
+            job.put("lastRunBy", lock.getLastRunBy());
+            jobs.add(job);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("node", jobLockService.getNodeId());
+        response.put("jobs", jobs);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -3,12 +3,15 @@ package com.example.controller;
 import com.example.dto.LoginRequest;
 import com.example.dto.SignupRequest;
 import com.example.services.AuthServices;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -19,7 +22,12 @@ public class AuthController {
 
     @PostMapping("/signup")
     public ResponseEntity<Map<String, Object>> signup(@RequestBody SignupRequest signupRequest) {
-        Map<String, Object> response = authServices.signup(signupRequest);
+        Map<String, Object> response;
+        try {
+            response = authServices.signup(signupRequest);
+        } catch (RejectedExecutionException e) {
+            return hashingSaturated();
+        }
         if (response.containsKey("success") && (Boolean) response.get("success")) {
             return ResponseEntity.ok(response);
         } else {
@@ -28,10 +36,20 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@RequestBody LoginRequest loginRequest) {
-        Map<String, Object> response = authServices.login(loginRequest);
+    public ResponseEntity<Map<String, Object>> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        Map<String, Object> response;
+        try {
+            // Behind trusted proxies Tomcat has already resolved this from X-Forwarded-For (server.forward-headers-strategy)
+            response = authServices.login(loginRequest, request.getRemoteAddr());
+        } catch (RejectedExecutionException e) {
+            return hashingSaturated();
+        }
         if (response.containsKey("success") && (Boolean) response.get("success")) {
             return ResponseEntity.ok(response);
+        } else if (response.containsKey("retryAfterSeconds")) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", response.get("retryAfterSeconds").toString())
+                    .body(response);
         } else {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
         }
@@ -39,7 +57,12 @@ public class AuthController {
 
     @PutMapping("/profile")
     public ResponseEntity<Map<String, Object>> updateProfile(@RequestBody Map<String, Object> request) {
-        Map<String, Object> response = authServices.updateProfile(request);
+        Map<String, Object> response;
+        try {
+            response = authServices.updateProfile(request);
+        } catch (RejectedExecutionException e) {
+            return hashingSaturated();
+        }
         if (response.containsKey("success") && (Boolean) response.get("success")) {
             return ResponseEntity.ok(response);
         } else {
@@ -56,4 +79,12 @@ public class AuthController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    // The password hashing pool is full; fail fast instead of queueing more CPU work
+    private ResponseEntity<Map<String, Object>> hashingSaturated() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", "Server is busy, please retry shortly");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(response);
+    }
 }
@@ -2,11 +2,14 @@ package com.example.controller;
 
 import com.example.dto.BidRequest;
 import com.example.dto.BidWithBidderResponse;
+import com.example.dto.CursorPage;
 import com.example.dto.DocumentValidationResponse;
 import com.example.dto.ValidationResult;
 import com.example.entity.Bid;
 import com.example.services.BidService;
 import com.example.services.DocumentValidationService;
+import com.example.services.KeysetPaging;
+import com.example.services.OcrOverloadedException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -93,6 +97,9 @@ public class BidController {
             
             return ResponseEntity.ok(response);
             
+        } catch (OcrOverloadedException e) {
+            logger.warn("Shedding content validation: {}", e.getMessage());
+            return ocrOverloaded(e);
         } catch (Exception e) {
             logger.error("Error in content validation: ", e);
             DocumentValidationResponse response = new DocumentValidationResponse();
@@ -165,6 +172,9 @@ public class BidController {
             
             return ResponseEntity.ok(response);
             
+        } catch (OcrOverloadedException e) {
+            logger.warn("Shedding rule-based validation: {}", e.getMessage());
+            return ocrOverloaded(e);
         } catch (Exception e) {
             logger.error("Error in rule-based validation: ", e);
             DocumentValidationResponse response = new DocumentValidationResponse();
@@ -174,6 +184,16 @@ public class BidController {
         }
     }
 
+    // OCR admission is saturated: 429 with the estimated time until there is room
+    private ResponseEntity<DocumentValidationResponse> ocrOverloaded(OcrOverloadedException e) {
+        DocumentValidationResponse response = new DocumentValidationResponse();
+        response.setValid(false);
+        response.setMessage(e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                .body(response);
+    }
+
     @PostMapping("/create")
     public ResponseEntity<Map<String, Object>> createBid(@RequestBody BidRequest request) {
         Map<String, Object> response = bidService.createBid(request);
@@ -198,6 +218,39 @@ public class BidController {
         return ResponseEntity.ok(bids);
     }
 
+    @GetMapping("/tender/{tenderId}/page")
+    public ResponseEntity<?> getBidsPageByTender(
+            @PathVariable Long tenderId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String status) {
+        return bidsPage(tenderId, null, cursor, size, sort, status);
+    }
+
+    @GetMapping("/bidder/{bidderId}/page")
+    public ResponseEntity<?> getBidsPageByBidder(
+            @PathVariable Long bidderId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String status) {
+        return bidsPage(null, bidderId, cursor, size, sort, status);
+    }
+
+    private ResponseEntity<?> bidsPage(Long tenderId, Long bidderId, String cursor, Integer size, String sort, String status) {
+        try {
+            KeysetPaging.Request page = KeysetPaging.Request.of(cursor, size, sort);
+            CursorPage<Bid> bids = bidService.getBidsPage(page, tenderId, bidderId, status);
+            return ResponseEntity.ok(bids);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
     @GetMapping("/bidder/{bidderId}/with-tenders")
     public ResponseEntity<List<com.example.dto.BidWithTenderResponse>> getBidsWithTenderDetails(
             @PathVariable Long bidderId) {
@@ -1,13 +1,16 @@
 package com.example.controller;
 
 import com.example.dto.BidderRequest;
+import com.example.dto.CursorPage;
 import com.example.entity.Bidder;
 import com.example.services.BidderService;
+import com.example.services.KeysetPaging;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -43,6 +46,26 @@ public class BidderController {
         return ResponseEntity.ok(bidders);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<?> getBiddersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type) {
+        try {
+            KeysetPaging.Request page = KeysetPaging.Request.of(cursor, size, sort);
+            CursorPage<Bidder> bidders = bidderService.getBiddersPage(page, search, status, type);
+            return ResponseEntity.ok(bidders);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<Bidder>> getBiddersByUser(@PathVariable Long userId) {
         List<Bidder> bidders = bidderService.getBiddersByUser(userId);
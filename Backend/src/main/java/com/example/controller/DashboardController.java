@@ -2,10 +2,14 @@ package com.example.controller;
 
 import com.example.dto.DashboardResponse;
 import com.example.services.DashboardService;
+import com.example.services.MonthlyActivityService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/dashboard")
 public class DashboardController {
@@ -13,6 +17,9 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private MonthlyActivityService monthlyActivityService;
+
     @GetMapping("/data")
     public ResponseEntity<DashboardResponse> getDashboardData(
             @RequestParam(required = false, defaultValue = "User") String username) {
@@ -20,4 +27,20 @@ public class DashboardController {
         return ResponseEntity.ok(response);
         
     }
+
+    // ?from=2024-01&to=2024-12, or ?months=N ending with the current month (default 12, max 120)
+    @GetMapping("/monthly-activity")
+    public ResponseEntity<?> getMonthlyActivity(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) Integer months) {
+        try {
+            return ResponseEntity.ok(monthlyActivityService.getSeries(from, to, months));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
 }
@@ -1,13 +1,16 @@
 package com.example.controller;
 
+import com.example.dto.CursorPage;
 import com.example.dto.TenderRequest;
 import com.example.entity.Tender;
+import com.example.services.KeysetPaging;
 import com.example.services.TenderService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -34,6 +37,27 @@ public class TenderController {
         return ResponseEntity.ok(tenders);
     }
 
+    // Cursor-paginated list: pass the returned nextCursor as cursor to fetch the following page
+    @GetMapping("/page")
+    public ResponseEntity<?> getTendersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long createdBy,
+            @RequestParam(required = false) String search) {
+        try {
+            KeysetPaging.Request page = KeysetPaging.Request.of(cursor, size, sort);
+            CursorPage<Tender> tenders = tenderService.getTendersPage(page, status, createdBy, search);
+            return ResponseEntity.ok(tenders);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<Tender>> getTendersByUser(@PathVariable Long userId) {
         List<Tender> tenders = tenderService.getTendersByUser(userId);
@@ -0,0 +1,129 @@
+package com.example.controller;
+
+import com.example.services.ValidationJob;
+import com.example.services.ValidationJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+// Background variant of /api/bids/validate-with-rules and /api/bids/validate-content
+@RestController
+@RequestMapping("/api/bids/validation-jobs")
+@CrossOrigin(origins = "*")
+public class ValidationJobController {
+
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ValidationJobController.class);
+
+    @Autowired
+    private ValidationJobService validationJobService;
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> submit(
+            @RequestParam("requiredDocuments") String requiredDocs,
+            @RequestParam("files") MultipartFile[] files,
+            @RequestParam(value = "mode", defaultValue = "rules") String mode) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        List<String> requiredDocuments = new ArrayList<>();
+        if (requiredDocs != null && !requiredDocs.isEmpty()) {
+            for (String doc : requiredDocs.split(",")) {
+                requiredDocuments.add(doc.trim());
+            }
+        }
+
+        if (files == null || files.length == 0) {
+            response.put("success", false);
+            response.put("message", "No files provided");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        List<String> invalidFiles = new ArrayList<>();
+        for (MultipartFile file : files) {
+            if (file != null && !file.isEmpty()) {
+                String contentType = file.getContentType();
+                String fileName = file.getOriginalFilename();
+                if ((contentType == null || !contentType.equals("application/pdf"))
+                        && (fileName == null || !fileName.toLowerCase().endsWith(".pdf"))) {
+                    invalidFiles.add(fileName != null ? fileName : "unknown");
+                }
+            }
+        }
+        if (!invalidFiles.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "Only PDF files are allowed. Invalid files: " + String.join(", ", invalidFiles));
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        ValidationJob.Mode jobMode = "content".equalsIgnoreCase(mode) ? ValidationJob.Mode.CONTENT : ValidationJob.Mode.RULES;
+
+        try {
+            ValidationJob job = validationJobService.submit(jobMode, requiredDocuments, files);
+            response.put("success", true);
+            response.put("jobId", job.getId());
+            response.put("status", job.getStatus());
+            response.put("statusUrl", "/api/bids/validation-jobs/" + job.getId());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Validation job queue is full, rejecting submission");
+            response.put("success", false);
+            response.put("message", "Too many validations in progress, please retry shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "30").body(response);
+        } catch (Exception e) {
+            logger.error("Could not submit validation job: ", e);
+            response.put("success", false);
+            response.put("message", "Could not submit validation job: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<Map<String, Object>> getStatus(@PathVariable String jobId) {
+        return validationJobService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(job.toStatusMap()))
+                .orElseGet(() -> notFound(jobId));
+    }
+
+    @GetMapping("/{jobId}/result")
+    public ResponseEntity<?> getResult(@PathVariable String jobId) {
+        ValidationJob job = validationJobService.getJob(jobId).orElse(null);
+        if (job == null) {
+            return notFound(jobId);
+        }
+        if (job.getStatus() != ValidationJob.Status.COMPLETED) {
+            // Not ready (or never will be): return the status so the client knows whether to keep polling
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(job.toStatusMap());
+        }
+        return ResponseEntity.ok(job.getResult());
+    }
+
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<Map<String, Object>> cancel(@PathVariable String jobId) {
+        ValidationJob job = validationJobService.getJob(jobId).orElse(null);
+        if (job == null) {
+            return notFound(jobId);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        boolean cancelled = validationJobService.cancel(jobId);
+        response.put("success", cancelled);
+        response.put("status", job.getStatus());
+        response.put("message", cancelled ? "Validation job cancelled" : "Validation job already finished");
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> notFound(String jobId) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", "Validation job not found: " + jobId);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.dto;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
 public class BidWithTenderResponse {
     private Long bidId;
     private Long tenderId;
@@ -17,6 +20,31 @@ public class BidWithTenderResponse {
     private String contactNumber;
     private Boolean hasDocument;
 
+    public BidWithTenderResponse() {
+    }
+
+    // Used by the BidRepository join projection; converts entity column types to the response format
+    public BidWithTenderResponse(Long bidId, Long bidderId, BigDecimal bidAmount, String proposalText, String status,
+                                 LocalDateTime createdAt, String contactNumber, String documentPath,
+                                 Long tenderId, String tenderName, String tenderDescription, BigDecimal tenderBudget,
+                                 String tenderStatus, LocalDateTime tenderDeadline, String tenderLocation) {
+        this.bidId = bidId;
+        this.bidderId = bidderId;
+        this.bidAmount = bidAmount != null ? bidAmount.doubleValue() : null;
+        this.proposalText = proposalText;
+        this.status = status;
+        this.createdAt = createdAt != null ? createdAt.toString() : null;
+        this.contactNumber = contactNumber;
+        this.hasDocument = documentPath != null && !documentPath.isEmpty();
+        this.tenderId = tenderId;
+        this.tenderName = tenderName;
+        this.tenderDescription = tenderDescription;
+        this.tenderBudget = tenderBudget != null ? tenderBudget.doubleValue() : null;
+        this.tenderStatus = tenderStatus;
+        this.tenderDeadline = tenderDeadline != null ? tenderDeadline.toString() : null;
+        this.tenderLocation = tenderLocation;
+    }
+
     // Getters and Setters
     public Long getBidId() {
         return bidId;
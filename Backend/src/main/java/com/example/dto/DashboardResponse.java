@@ -37,6 +37,17 @@ public class DashboardResponse {
     private List<BidSummary> recentBids;
     private List<BidderSummary> recentBidders;
 
+    // The same figures addressed to another user; the cached dashboard is shared by everyone
+    public DashboardResponse forUser(String username) {
+        return new DashboardResponse(message, username,
+                totalTenders, openTenders, closedTenders,
+                totalBids, pendingBids, approvedBids, rejectedBids,
+                totalBidders, activeBidders, inactiveBidders,
+                tenderStatusData, bidStatusData, bidderStatusData,
+                monthlyTenders, monthlyBids,
+                recentTenders, recentBids, recentBidders);
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,17 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyActivityPoint {
+    private String month; // yyyy-MM
+    private long tenders;
+    private long bids;
+    private BigDecimal bidAmountTotal;
+}
@@ -34,7 +34,7 @@ public class Bid {
     @Column(length = 50)
     private String status = "PENDING";
 
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
@@ -42,7 +42,7 @@ public class Bidder {
     @Column(name = "created_by")
     private Long createdBy;
 
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
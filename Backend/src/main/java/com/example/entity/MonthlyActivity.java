@@ -0,0 +1,38 @@
+package com.example.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One month of tender and bid activity, keyed by the first day of the month.
+ * Written only by the rollup job in MonthlyActivityService.
+ */
+@Entity
+@Table(name = "monthly_activity")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyActivity {
+
+    @Id
+    @Column(name = "month_start")
+    private LocalDate month;
+
+    @Column(name = "tenders_created", nullable = false)
+    private Long tendersCreated = 0L;
+
+    @Column(name = "bids_created", nullable = false)
+    private Long bidsCreated = 0L;
+
+    @Column(name = "bid_amount_total", nullable = false, precision = 16, scale = 2)
+    private BigDecimal bidAmountTotal = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -27,7 +27,7 @@ public class Tender {
     @Column(name = "created_by")
     private Long createdBy;
 
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     @Column(length = 50)
@@ -1,16 +1,23 @@
 package com.example.repository;
 
+import com.example.dto.BidWithBidderResponse;
+import com.example.dto.BidWithTenderResponse;
 import com.example.entity.Bid;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BidRepository extends JpaRepository<Bid, Long> {
+public interface BidRepository extends JpaRepository<Bid, Long>, JpaSpecificationExecutor<Bid> {
     List<Bid> findByTenderId(Long tenderId);
     List<Bid> findByBidderId(Long bidderId);
     Optional<Bid> findByTenderIdAndBidderId(Long tenderId, Long bidderId);
@@ -31,4 +38,67 @@ public interface BidRepository extends JpaRepository<Bid, Long> {
     
     @Query("SELECT COUNT(b) FROM Bid b")
     long countTotalBids();
+
+    // Keys of the join caches that embed a bidder's or a tender's details
+    @Query("SELECT DISTINCT b.tenderId FROM Bid b WHERE b.bidderId = :bidderId")
+    List<Long> findTenderIdsByBidderId(@Param("bidderId") Long bidderId);
+
+    @Query("SELECT DISTINCT b.bidderId FROM Bid b WHERE b.tenderId = :tenderId")
+    List<Long> findBidderIdsByTenderId(@Param("tenderId") Long tenderId);
+
+    @Query("SELECT DISTINCT b.bidderId FROM Bid b WHERE b.tenderId IN :tenderIds")
+    List<Long> findBidderIdsByTenderIdIn(@Param("tenderIds") Collection<Long> tenderIds);
+
+    // Recent bids with their tender name in one round trip: each row is [Bid, String tenderName]
+    @Query("SELECT b, t.name FROM Bid b LEFT JOIN Tender t ON t.id = b.tenderId ORDER BY b.createdAt DESC")
+    List<Object[]> findRecentBidsWithTenderName(Pageable pageable);
+
+    @Query("SELECT new com.example.dto.BidWithTenderResponse(" +
+           "b.id, b.bidderId, b.bidAmount, b.proposalText, b.status, b.createdAt, b.contactNumber, b.documentPath, " +
+           "t.id, t.name, t.description, t.budget, t.status, t.deadline, t.location) " +
+           "FROM Bid b LEFT JOIN Tender t ON t.id = b.tenderId WHERE b.bidderId = :bidderId")
+    List<BidWithTenderResponse> findBidsWithTenderDetails(@Param("bidderId") Long bidderId);
+
+    @Query("SELECT new com.example.dto.BidWithBidderResponse(" +
+           "b.id, b.tenderId, b.bidderId, bd.companyName, bd.email, bd.phone, bd.type, bd.contactPerson, " +
+           "b.bidAmount, b.proposalText, b.status, b.isWinning, b.contactNumber, b.createdAt, b.updatedAt, " +
+           "b.documentPath, b.documentPaths) " +
+           "FROM Bid b LEFT JOIN Bidder bd ON bd.id = b.bidderId WHERE b.tenderId = :tenderId")
+    List<BidWithBidderResponse> findBidsWithBidderDetails(@Param("tenderId") Long tenderId);
+
+    // One row of status counts and price statistics for a tender, computed in the database
+    @Query(value = "SELECT COUNT(*) AS \"total\", " +
+           "COUNT(*) FILTER (WHERE status = 'PENDING') AS \"pending\", " +
+           "COUNT(*) FILTER (WHERE status = 'ACCEPTED') AS \"accepted\", " +
+           "COUNT(*) FILTER (WHERE status = 'APPROVED') AS \"approved\", " +
+           "COUNT(*) FILTER (WHERE status = 'REJECTED') AS \"rejected\", " +
+           "COUNT(*) FILTER (WHERE status = 'WINNING') AS \"winning\", " +
+           "MIN(bid_amount) AS \"lowest\", " +
+           "MAX(bid_amount) AS \"highest\", " +
+           "ROUND(AVG(bid_amount), 2) AS \"average\", " +
+           "CAST(percentile_cont(0.5) WITHIN GROUP (ORDER BY bid_amount) AS DECIMAL(12, 2)) AS \"median\", " +
+           "MAX(bid_amount) - MIN(bid_amount) AS \"spread\" " +
+           "FROM bids WHERE tender_id = :tenderId",
+           nativeQuery = true)
+    BidStats getBidStats(@Param("tenderId") Long tenderId);
+
+    // [year, month, count] of rows created since the given time, for the dashboard's monthly series
+    @Query("SELECT YEAR(b.createdAt), MONTH(b.createdAt), COUNT(b) FROM Bid b " +
+           "WHERE b.createdAt >= :since GROUP BY YEAR(b.createdAt), MONTH(b.createdAt)")
+    List<Object[]> countCreatedPerMonthSince(@Param("since") LocalDateTime since);
+
+    // Price statistics are null for a tender without bids
+    interface BidStats {
+        Long getTotal();
+        Long getPending();
+        Long getAccepted();
+        Long getApproved();
+        Long getRejected();
+        Long getWinning();
+        BigDecimal getLowest();
+        BigDecimal getHighest();
+        BigDecimal getAverage();
+        BigDecimal getMedian();
+        BigDecimal getSpread();
+    }
 }
@@ -3,6 +3,7 @@ package com.example.repository;
 import com.example.entity.Bidder;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -10,7 +11,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BidderRepository extends JpaRepository<Bidder, Long> {
+public interface BidderRepository extends JpaRepository<Bidder, Long>, JpaSpecificationExecutor<Bidder> {
     List<Bidder> findByCreatedBy(Long createdBy);
     List<Bidder> findByStatus(String status);
     List<Bidder> findByType(String type);
@@ -28,4 +29,17 @@ public interface BidderRepository extends JpaRepository<Bidder, Long> {
     
     @Query("SELECT b.status, COUNT(b) FROM Bidder b GROUP BY b.status")
     List<Object[]> countByStatusGrouped();
+
+    @Query(value = "SELECT COUNT(*) AS \"total\", " +
+           "COUNT(*) FILTER (WHERE status = 'ACTIVE') AS \"active\", " +
+           "COALESCE(SUM(winning_bids), 0) AS \"winningBids\" " +
+           "FROM bidders",
+           nativeQuery = true)
+    BidderStats getBidderStats();
+
+    interface BidderStats {
+        Long getTotal();
+        Long getActive();
+        Long getWinningBids();
+    }
 }
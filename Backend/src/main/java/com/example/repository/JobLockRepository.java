@@ -0,0 +1,40 @@
+package com.example.repository;
+
+import com.example.entity.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    List<JobLock> findAllByOrderByJobNameAsc();
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO job_locks (job_name) VALUES (:jobName) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("jobName") String jobName);
+
+    // Takes the lease only if it has run out; concurrent callers serialize on the row and at most one matches
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLock j SET j.lockedBy = :node, j.lockedUntil = :until, j.lastStartedAt = :now " +
+           "WHERE j.jobName = :jobName AND (j.lockedUntil IS NULL OR j.lockedUntil <= :now)")
+    int tryAcquire(@Param("jobName") String jobName, @Param("node") String node,
+                   @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLock j SET j.lockedUntil = :until, j.lastFinishedAt = :finishedAt, j.lastDurationMs = :durationMs, " +
+           "j.lastStatus = :status, j.lastError = :error, j.lastRunBy = :node " +
+           "WHERE j.jobName = :jobName AND j.lockedBy = :node")
+    int release(@Param("jobName") String jobName, @Param("node") String node, @Param("until") LocalDateTime until,
+                @Param("finishedAt") LocalDateTime finishedAt, @Param("durationMs") long durationMs,
+                @Param("status") String status, @Param("error") String error);
+}
@@ -0,0 +1,40 @@
+package com.example.repository;
+
+import com.example.entity.MonthlyActivity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MonthlyActivityRepository extends JpaRepository<MonthlyActivity, LocalDate> {
+
+    // Primary-key range scan: at most one row per month
+    List<MonthlyActivity> findByMonthBetweenOrderByMonthAsc(LocalDate from, LocalDate to);
+
+    @Query("SELECT MAX(m.updatedAt) FROM MonthlyActivity m")
+    LocalDateTime findLastRollupTime();
+
+    @Modifying
+    @Query("DELETE FROM MonthlyActivity m WHERE m.month >= :from")
+    int deleteFromMonth(@Param("from") LocalDate from);
+
+    // Re-aggregates every month starting at :since; both halves are range scans, on idx_tenders_created_at_id
+    // and idx_bids_created_at
+    @Modifying
+    @Query(value = "INSERT INTO monthly_activity (month_start, tenders_created, bids_created, bid_amount_total, updated_at) " +
+            "SELECT a.month_start, SUM(a.tenders), SUM(a.bids), SUM(a.amount), CURRENT_TIMESTAMP FROM (" +
+            "  SELECT CAST(date_trunc('month', created_at) AS DATE) AS month_start, 1 AS tenders, 0 AS bids, 0 AS amount " +
+            "  FROM tenders WHERE created_at >= :since " +
+            "  UNION ALL " +
+            "  SELECT CAST(date_trunc('month', created_at) AS DATE), 0, 1, bid_amount " +
+            "  FROM bids WHERE created_at >= :since" +
+            ") a GROUP BY a.month_start",
+            nativeQuery = true)
+    int insertRollupSince(@Param("since") LocalDateTime since);
+}
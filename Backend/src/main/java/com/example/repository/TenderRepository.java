@@ -3,15 +3,19 @@ package com.example.repository;
 import com.example.entity.Tender;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TenderRepository extends JpaRepository<Tender, Long> {
+public interface TenderRepository extends JpaRepository<Tender, Long>, JpaSpecificationExecutor<Tender> {
     
     List<Tender> findByCreatedByOrderByCreatedAtDesc(Long createdBy);
     
@@ -31,4 +35,30 @@ public interface TenderRepository extends JpaRepository<Tender, Long> {
     // Find all tenders with OPEN status that have passed their deadline
     @Query("SELECT t FROM Tender t WHERE t.status = 'OPEN' AND t.deadline <= :currentTime")
     List<Tender> findOpenTendersWithExpiredDeadline(@Param("currentTime") LocalDateTime currentTime);
+
+    // [id, createdBy] of the tenders closeExpiredTenders will close: the cache keys to evict afterwards
+    @Query("SELECT t.id, t.createdBy FROM Tender t WHERE t.status = 'OPEN' AND t.deadline <= :currentTime")
+    List<Object[]> findExpiredOpenTenderKeys(@Param("currentTime") LocalDateTime currentTime);
+
+    // One set-based UPDATE; re-checks status and deadline so a tender reopened meanwhile is left alone
+    @Transactional
+    @Modifying
+    @Query("UPDATE Tender t SET t.status = 'CLOSED', t.updatedAt = :currentTime " +
+           "WHERE t.id IN :ids AND t.status = 'OPEN' AND t.deadline <= :currentTime")
+    int closeExpiredTenders(@Param("ids") Collection<Long> ids, @Param("currentTime") LocalDateTime currentTime);
+
+    // OPEN tenders whose deadline falls before the given time, for TenderDeadlineScheduler
+    @Query("SELECT t FROM Tender t WHERE t.status = 'OPEN' AND t.deadline IS NOT NULL AND t.deadline <= :until")
+    List<Tender> findOpenTendersWithDeadlineBefore(@Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Tender t SET t.status = 'CLOSED', t.updatedAt = :currentTime " +
+           "WHERE t.id = :id AND t.status = 'OPEN' AND t.deadline <= :currentTime")
+    int closeIfExpired(@Param("id") Long id, @Param("currentTime") LocalDateTime currentTime);
+
+    // [year, month, count] of rows created since the given time, for the dashboard's monthly series
+    @Query("SELECT YEAR(t.createdAt), MONTH(t.createdAt), COUNT(t) FROM Tender t " +
+           "WHERE t.createdAt >= :since GROUP BY YEAR(t.createdAt), MONTH(t.createdAt)")
+    List<Object[]> countCreatedPerMonthSince(@Param("since") LocalDateTime since);
 }
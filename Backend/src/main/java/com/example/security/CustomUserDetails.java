@@ -7,13 +7,30 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 public class CustomUserDetails implements UserDetails {
 
     private User user;
+    private final Collection<? extends GrantedAuthority> authorities;
 
     public CustomUserDetails(User user) {
+        this(user, Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    public CustomUserDetails(User user, Collection<? extends GrantedAuthority> authorities) {
         this.user = user;
+        this.authorities = authorities;
+    }
+
+    /**
+     * Principal rebuilt from verified token claims, without loading the user. Only id and username are set.
+     */
+    public static CustomUserDetails fromToken(Long userId, String username, List<String> roles) {
+        User user = new User();
+        user.setId(userId);
+        user.setUsername(username);
+        return new CustomUserDetails(user, roles.stream().map(SimpleGrantedAuthority::new).toList());
     }
 
     public User getUser() {
@@ -26,8 +43,7 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // Return empty list - you can add roles/authorities here if needed
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+        return authorities;
     }
 
     @Override
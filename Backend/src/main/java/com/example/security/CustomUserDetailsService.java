@@ -3,23 +3,41 @@ package com.example.security;
 import com.example.entity.User;
 import com.example.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     @Autowired
     private UserRepository userRepository;
 
+    // Users granted ROLE_ADMIN (the /api/admin endpoints); comma-separated usernames
+    private Set<String> adminUsernames = Set.of();
+
+    @Value("${auth.admin-usernames:}")
+    void setAdminUsernames(String adminUsernames) {
+        this.adminUsernames = Arrays.stream(adminUsernames.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
         
-        return new CustomUserDetails(user);
+        return forUser(user);
     }
 
     // Load user by user ID
@@ -27,6 +45,17 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
         
-        return new CustomUserDetails(user);
+        return forUser(user);
+    }
+
+    /**
+     * Principal for an already loaded user, with ROLE_ADMIN added for configured admin usernames.
+     */
+    public CustomUserDetails forUser(User user) {
+        if (!adminUsernames.contains(user.getUsername())) {
+            return new CustomUserDetails(user);
+        }
+        return new CustomUserDetails(user, List.of(
+                new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
     }
 }
@@ -1,10 +1,16 @@
 package com.example.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,7 +20,17 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
 
+/**
+ * Authenticates requests from the bearer token.
+ *
+ * In stateless mode (the default) the token is verified once and the principal is built from its uid and roles
+ * claims, so no user is loaded per request. Tokens issued before those claims existed fall back to loading the
+ * user by name. With the verified-token cache enabled, a token seen recently skips verification entirely; an
+ * entry never outlives the token's own expiry.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -24,6 +40,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Value("${jwt.stateless:true}")
+    private boolean stateless;
+
+    @Value("${jwt.verified-cache.enabled:true}")
+    private boolean verifiedCacheEnabled;
+
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    @Value("${jwt.verified-cache.ttl-seconds:300}")
+    private long verifiedCacheTtlSeconds;
+
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        // Only principals built from claims are cached; the DB-backed mode stays fresh per request
+        if (stateless && verifiedCacheEnabled) {
+            Duration maxTtl = Duration.ofSeconds(verifiedCacheTtlSeconds);
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheMaxSize)
+                    .expireAfter(Expiry.creating((String token, VerifiedToken verified) -> {
+                        Duration untilExpiry = Duration.ofMillis(Math.max(0, verified.expiresAtMillis - System.currentTimeMillis()));
+                        return untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl;
+                    }))
+                    .build();
+        }
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -31,12 +76,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            if (StringUtils.hasText(jwt)) {
+                UserDetails userDetails = authenticate(jwt);
 
-                if (username != null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authentication = 
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     
@@ -52,6 +95,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails authenticate(String jwt) {
+        if (verifiedTokens != null) {
+            VerifiedToken cached = verifiedTokens.getIfPresent(jwt);
+            if (cached != null) {
+                return cached.principal;
+            }
+        }
+
+        Claims claims = tokenProvider.verify(jwt);
+        if (claims == null || claims.getSubject() == null) {
+            return null;
+        }
+
+        Long userId = JwtTokenProvider.getUserId(claims);
+        List<String> roles = JwtTokenProvider.getRoles(claims);
+        if (!stateless || userId == null || roles == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        CustomUserDetails principal = CustomUserDetails.fromToken(userId, claims.getSubject(), roles);
+        if (verifiedTokens != null && claims.getExpiration() != null) {
+            verifiedTokens.put(jwt, new VerifiedToken(principal, claims.getExpiration().getTime()));
+        }
+        return principal;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         
@@ -61,4 +130,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         return null;
     }
+
+    private record VerifiedToken(CustomUserDetails principal, long expiresAtMillis) {
+    }
 }
@@ -0,0 +1,122 @@
+package com.example.services;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Everything the classifiers need from one document's text, computed once by
+ * {@link KeywordMatcher#analyze(String)}: lowercase and normalized forms, word token offsets,
+ * keyword hits and the first match of every ID pattern.
+ * The PAN, Aadhaar, GST, ITR, experience, company and insurance checks all read from the same instance.
+ */
+public class AnalyzedDocument {
+
+    private final String content;
+    private final String lowerText;
+    // Letters and digits only, uppercased; OCR often splits IDs with spaces or punctuation
+    private final String normalized;
+    // Start/end offsets (into lowerText) of each letter/digit run
+    private final int[] tokenStarts;
+    private final int[] tokenEnds;
+    private final KeywordAutomaton.KeywordHits keywordHits;
+
+    private final String panInNormalized;
+    private final String panToken;
+    private final String aadhaarNumber;
+    private final String gstin;
+    private final String cin;
+    private final boolean hasDate;
+    // document type -> first match of that template's number pattern
+    private final Map<String, String> templateNumbers;
+
+    AnalyzedDocument(String content, String lowerText, String normalized, int[] tokenStarts, int[] tokenEnds,
+                     KeywordAutomaton.KeywordHits keywordHits, String panInNormalized, String panToken,
+                     String aadhaarNumber, String gstin, String cin, boolean hasDate,
+                     Map<String, String> templateNumbers) {
+        this.content = content;
+        this.lowerText = lowerText;
+        this.normalized = normalized;
+        this.tokenStarts = tokenStarts;
+        this.tokenEnds = tokenEnds;
+        this.keywordHits = keywordHits;
+        this.panInNormalized = panInNormalized;
+        this.panToken = panToken;
+        this.aadhaarNumber = aadhaarNumber;
+        this.gstin = gstin;
+        this.cin = cin;
+        this.hasDate = hasDate;
+        this.templateNumbers = Collections.unmodifiableMap(templateNumbers);
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public boolean isBlank() {
+        return content == null || content.isBlank();
+    }
+
+    public int length() {
+        return content != null ? content.length() : 0;
+    }
+
+    public String getLowerText() {
+        return lowerText;
+    }
+
+    public String getNormalized() {
+        return normalized;
+    }
+
+    public int getTokenCount() {
+        return tokenStarts.length;
+    }
+
+    public String getToken(int index) {
+        return lowerText.substring(tokenStarts[index], tokenEnds[index]);
+    }
+
+    public int getTokenStart(int index) {
+        return tokenStarts[index];
+    }
+
+    public int getTokenEnd(int index) {
+        return tokenEnds[index];
+    }
+
+    public KeywordAutomaton.KeywordHits getKeywordHits() {
+        return keywordHits;
+    }
+
+    public boolean hasKeyword(String keyword) {
+        return keywordHits.contains(keyword);
+    }
+
+    public String getPanInNormalized() {
+        return panInNormalized;
+    }
+
+    public String getPanToken() {
+        return panToken;
+    }
+
+    public String getAadhaarNumber() {
+        return aadhaarNumber;
+    }
+
+    public String getGstin() {
+        return gstin;
+    }
+
+    public String getCin() {
+        return cin;
+    }
+
+    public boolean hasDate() {
+        return hasDate;
+    }
+
+    public String getTemplateNumber(String documentType) {
+        return templateNumbers.get(documentType);
+    }
+}
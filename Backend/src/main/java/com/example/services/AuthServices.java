@@ -5,9 +5,9 @@ import com.example.dto.SignupRequest;
 import com.example.entity.User;
 import com.example.repository.UserRepository;
 import com.example.security.CustomUserDetails;
+import com.example.security.CustomUserDetailsService;
 import com.example.security.JwtTokenProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
@@ -21,11 +21,17 @@ public class AuthServices {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
 
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
     public Map<String, Object> signup(SignupRequest signupRequest) {
         Map<String, Object> response = new HashMap<>();
 
@@ -44,7 +50,7 @@ public class AuthServices {
         User user = new User();
         user.setUsername(signupRequest.getUsername());
         user.setEmail(signupRequest.getEmail());
-        user.setPassword(passwordEncoder.encode(signupRequest.getPassword()));
+        user.setPassword(passwordHasher.encode(signupRequest.getPassword()));
 
         userRepository.save(user);
 
@@ -59,12 +65,25 @@ public class AuthServices {
         return response;
     }
 
-    public Map<String, Object> login(LoginRequest loginRequest) {
+    /**
+     * Throws RejectedExecutionException when the password hashing pool is saturated.
+     * A throttled attempt returns retryAfterSeconds without hashing anything.
+     */
+    public Map<String, Object> login(LoginRequest loginRequest, String clientIp) {
         Map<String, Object> response = new HashMap<>();
 
+        long retryAfter = loginThrottle.retryAfterSeconds(loginRequest.getUsername(), clientIp);
+        if (retryAfter > 0) {
+            response.put("success", false);
+            response.put("message", "Too many failed login attempts, please try again later");
+            response.put("retryAfterSeconds", retryAfter);
+            return response;
+        }
+
         Optional<User> userOptional = userRepository.findByUsername(loginRequest.getUsername());
 
         if (userOptional.isEmpty()) {
+            loginThrottle.recordFailure(loginRequest.getUsername(), clientIp);
             response.put("success", false);
             response.put("message", "User not found");
             return response;
@@ -72,14 +91,16 @@ public class AuthServices {
 
         User user = userOptional.get();
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(loginRequest.getPassword(), user.getPassword())) {
+            loginThrottle.recordFailure(loginRequest.getUsername(), clientIp);
             response.put("success", false);
             response.put("message", "Invalid password");
             return response;
         }
+        loginThrottle.recordSuccess(loginRequest.getUsername());
 
-        // Generate JWT token
-        CustomUserDetails userDetails = new CustomUserDetails(user);
+        // Generate JWT token; its roles claim carries ROLE_ADMIN for configured admins
+        CustomUserDetails userDetails = userDetailsService.forUser(user);
         String token = jwtTokenProvider.generateToken(userDetails);
 
         response.put("success", true);
@@ -150,7 +171,7 @@ public class AuthServices {
         }
         
         if (request.containsKey("password")) {
-            user.setPassword(passwordEncoder.encode(request.get("password").toString()));
+            user.setPassword(passwordHasher.encode(request.get("password").toString()));
         }
         
         userRepository.save(user);
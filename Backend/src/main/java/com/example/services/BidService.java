@@ -2,23 +2,28 @@ package com.example.services;
 
 import com.example.dto.BidRequest;
 import com.example.dto.BidWithBidderResponse;
+import com.example.dto.CursorPage;
 import com.example.entity.Bid;
 import com.example.entity.Bidder;
 import com.example.entity.Tender;
 import com.example.repository.BidRepository;
 import com.example.repository.BidderRepository;
 import com.example.repository.TenderRepository;
+import jakarta.persistence.criteria.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 
 @Service
@@ -35,9 +40,12 @@ public class BidService {
     @Autowired
     private TenderRepository tenderRepository;
 
-    @CacheEvict(value = {"bidsByTender", "bidsByBidder", "bidStats", "tenderBids", "bidsWithTenders", "dashboardData"}, 
-               allEntries = true, 
-               condition = "#request != null")
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private DashboardAggregateStore dashboardAggregateStore;
+
     public Map<String, Object> createBid(BidRequest request) {
         Map<String, Object> response = new HashMap<>();
         
@@ -57,6 +65,13 @@ public class BidService {
                 return response;
             }
 
+            // The stored status stays OPEN until the scheduled job closes it, so check the deadline too
+            if (tender.getDeadline() != null && !tender.getDeadline().isAfter(LocalDateTime.now())) {
+                response.put("success", false);
+                response.put("message", "Tender deadline has passed");
+                return response;
+            }
+
             // Check if bidder exists
             Bidder bidder = bidderRepository.findById(request.getBidderId()).orElse(null);
             if (bidder == null) {
@@ -85,6 +100,9 @@ public class BidService {
             // Update bidder's total bids
             bidder.setTotalBids(bidder.getTotalBids() + 1);
             bidderRepository.save(bidder);
+            cacheInvalidator.bidChanged(savedBid);
+            cacheInvalidator.bidderChanged(bidder);
+            dashboardAggregateStore.bidCreated(savedBid);
             
             response.put("success", true);
             response.put("message", "Bid placed successfully");
@@ -103,7 +121,7 @@ public class BidService {
     
     @Cacheable(value = "bidsByTender", key = "#tenderId", 
               condition = "#tenderId != null",
-              unless = "#result == null")
+              sync = true)
     public List<Bid> getBidsByTender(Long tenderId) {
         logger.debug("Fetching bids for tender: {} (Cache Miss - loading from DB)", tenderId);
         return bidRepository.findByTenderId(tenderId);
@@ -112,70 +130,58 @@ public class BidService {
    
     @Cacheable(value = "bidsByBidder", key = "#bidderId",
               condition = "#bidderId != null",
-              unless = "#result == null")
+              sync = true)
     public List<Bid> getBidsByBidder(Long bidderId) {
         logger.debug("Fetching bids for bidder: {} (Cache Miss - loading from DB)", bidderId);
         return bidRepository.findByBidderId(bidderId);
     }
 
     
+    // Keyset-paginated bids of one tender (tenderId) or one bidder (bidderId), optionally filtered by status
+    public CursorPage<Bid> getBidsPage(KeysetPaging.Request page, Long tenderId, Long bidderId, String status) {
+        Specification<Bid> spec = (root, query, cb) -> {
+            List<Predicate> filters = new ArrayList<>();
+            if (tenderId != null) {
+                filters.add(cb.equal(root.get("tenderId"), tenderId));
+            }
+            if (bidderId != null) {
+                filters.add(cb.equal(root.get("bidderId"), bidderId));
+            }
+            if (status != null && !status.isBlank()) {
+                filters.add(cb.equal(root.get("status"), status.trim().toUpperCase()));
+            }
+            return KeysetPaging.and(root, cb, filters, page);
+        };
+        return KeysetPaging.fetch(bidRepository, spec, page, Bid::getCreatedAt, Bid::getId);
+    }
+
     @Cacheable(value = "bidsWithTenders", key = "#bidderId",
               condition = "#bidderId != null",
-              unless = "#result == null")
+              sync = true)
     public List<com.example.dto.BidWithTenderResponse> getBidsWithTenderDetails(Long bidderId) {
         logger.debug("Fetching bids with tender details for bidder: {} (Cache Miss - loading from DB)", bidderId);
-        List<Bid> bids = bidRepository.findByBidderId(bidderId);
-        return bids.stream().map(bid -> {
-            com.example.dto.BidWithTenderResponse response = new com.example.dto.BidWithTenderResponse();
-            response.setBidId(bid.getId());
-            response.setBidderId(bid.getBidderId());
-            response.setBidAmount(bid.getBidAmount() != null ? bid.getBidAmount().doubleValue() : null);
-            response.setProposalText(bid.getProposalText());
-            response.setStatus(bid.getStatus());
-            response.setCreatedAt(bid.getCreatedAt() != null ? bid.getCreatedAt().toString() : null);
-            response.setContactNumber(bid.getContactNumber());
-            response.setHasDocument(bid.getDocumentPath() != null && !bid.getDocumentPath().isEmpty());
-            
-            // Get tender details (could also cache tender lookups separately)
-            if (bid.getTenderId() != null) {
-                Tender tender = tenderRepository.findById(bid.getTenderId()).orElse(null);
-                if (tender != null) {
-                    response.setTenderId(tender.getId());
-                    response.setTenderName(tender.getName());
-                    response.setTenderDescription(tender.getDescription());
-                    response.setTenderBudget(tender.getBudget() != null ? tender.getBudget().doubleValue() : null);
-                    response.setTenderStatus(tender.getStatus());
-                    response.setTenderDeadline(tender.getDeadline() != null ? tender.getDeadline().toString() : null);
-                    response.setTenderLocation(tender.getLocation());
-                }
-            }
-            
-            return response;
-        }).collect(java.util.stream.Collectors.toList());
+        // Single join query instead of one tender lookup per bid
+        return bidRepository.findBidsWithTenderDetails(bidderId);
     }
 
    
     @Cacheable(value = "bidDetails", key = "#id",
               condition = "#id != null",
-              unless = "#result == null")
+              sync = true)
     public Bid getBidById(Long id) {
         logger.debug("Fetching bid details for ID: {} (Cache Miss - loading from DB)", id);
         return bidRepository.findById(id).orElse(null);
     }
 
    
-    @CacheEvict(value = {"bidDetails", "bidsByTender", "bidsByBidder", "bidStats", "tenderBids", "bidsWithTenders"},
-               allEntries = true,
-               condition = "#bid != null")
     public Bid saveBid(Bid bid) {
-        logger.debug("Saving bid - evicting all related caches");
-        return bidRepository.save(bid);
+        logger.debug("Saving bid - evicting its tender, bidder and detail cache entries");
+        Bid saved = bidRepository.save(bid);
+        cacheInvalidator.bidChanged(saved);
+        return saved;
     }
 
     
-    @CacheEvict(value = {"bidDetails", "bidsByTender", "bidsByBidder", "bidStats", "tenderBids", "bidsWithTenders", "dashboardData"},
-               allEntries = true,
-               condition = "#bidId != null")
     public Map<String, Object> updateBidStatus(Long bidId, String status) {
         Map<String, Object> response = new HashMap<>();
         
@@ -186,15 +192,22 @@ public class BidService {
                 response.put("message", "Bid not found");
                 return response;
             }
+            String oldStatus = bid.getStatus();
 
             // If marking as winning, first remove winning status from other bids for this tender
             if ("WINNING".equals(status)) {
                 List<Bid> allBids = bidRepository.findByTenderId(bid.getTenderId());
                 for (Bid b : allBids) {
                     if (b.getIsWinning()) {
+                        String previous = b.getStatus();
                         b.setIsWinning(false);
                         b.setStatus("REJECTED");
                         bidRepository.save(b);
+                        cacheInvalidator.bidChanged(b);
+                        // The bid being updated is counted once, from its original to its final status
+                        if (!b.getId().equals(bidId)) {
+                            dashboardAggregateStore.bidStatusChanged(previous, "REJECTED");
+                        }
                     }
                 }
                 
@@ -203,6 +216,7 @@ public class BidService {
                 if (bidder != null) {
                     bidder.setWinningBids(bidder.getWinningBids() + 1);
                     bidderRepository.save(bidder);
+                    cacheInvalidator.bidderChanged(bidder);
                 }
             }
 
@@ -216,6 +230,8 @@ public class BidService {
                         if ("PENDING".equals(otherBid.getStatus())) {
                             otherBid.setStatus("REJECTED");
                             bidRepository.save(otherBid);
+                            cacheInvalidator.bidChanged(otherBid);
+                            dashboardAggregateStore.bidStatusChanged("PENDING", "REJECTED");
                             logger.info("Auto-rejected bid ID: {} for tender ID: {} as another bid was approved", 
                                 otherBid.getId(), bid.getTenderId());
                         }
@@ -227,6 +243,8 @@ public class BidService {
             bid.setIsWinning("WINNING".equals(status));
             
             Bid updatedBid = bidRepository.save(bid);
+            cacheInvalidator.bidChanged(updatedBid);
+            dashboardAggregateStore.bidStatusChanged(oldStatus, status);
             
             response.put("success", true);
             response.put("message", "Bid status updated successfully");
@@ -243,9 +261,6 @@ public class BidService {
     }
 
    
-    @CacheEvict(value = {"bidDetails", "bidsByTender", "bidsByBidder", "bidStats", "tenderBids", "bidsWithTenders", "dashboardData"},
-               allEntries = true,
-               condition = "#bidId != null")
     public Map<String, Object> deleteBid(Long bidId, Long userId) {
         Map<String, Object> response = new HashMap<>();
         
@@ -265,9 +280,12 @@ public class BidService {
                     bidder.setWinningBids(Math.max(0, bidder.getWinningBids() - 1));
                 }
                 bidderRepository.save(bidder);
+                cacheInvalidator.bidderChanged(bidder);
             }
 
             bidRepository.delete(bid);
+            cacheInvalidator.bidChanged(bid);
+            dashboardAggregateStore.bidDeleted(bid);
             
             response.put("success", true);
             response.put("message", "Bid deleted successfully");
@@ -285,23 +303,30 @@ public class BidService {
    
     @Cacheable(value = "bidStats", key = "#tenderId",
               condition = "#tenderId != null",
-              unless = "#result == null")
+              sync = true)
     public Map<String, Object> getBidStats(Long tenderId) {
         logger.debug("Fetching bid stats for tender: {} (Cache Miss - loading from DB)", tenderId);
         Map<String, Object> stats = new HashMap<>();
         
         try {
-            List<Bid> bids = bidRepository.findByTenderId(tenderId);
-            
-            int totalBids = bids.size();
-            long pendingBids = bids.stream().filter(b -> "PENDING".equals(b.getStatus())).count();
-            long acceptedBids = bids.stream().filter(b -> "ACCEPTED".equals(b.getStatus())).count();
-            long rejectedBids = bids.stream().filter(b -> "REJECTED".equals(b.getStatus())).count();
+            // One aggregate row instead of loading every bid (and its proposal text)
+            BidRepository.BidStats row = bidRepository.getBidStats(tenderId);
             
-            stats.put("totalBids", totalBids);
-            stats.put("pendingBids", pendingBids);
-            stats.put("acceptedBids", acceptedBids);
-            stats.put("rejectedBids", rejectedBids);
+            stats.put("totalBids", row.getTotal());
+            stats.put("pendingBids", row.getPending());
+            stats.put("acceptedBids", row.getAccepted());
+            stats.put("approvedBids", row.getApproved());
+            stats.put("rejectedBids", row.getRejected());
+            stats.put("winningBids", row.getWinning());
+            // L1 is the lowest bid; spread is highest minus lowest
+            stats.put("l1Amount", row.getLowest());
+            stats.put("highestAmount", row.getHighest());
+            stats.put("averageAmount", row.getAverage());
+            stats.put("medianAmount", row.getMedian());
+            stats.put("spread", row.getSpread());
+            stats.put("spreadPercent", row.getSpread() != null && row.getLowest().signum() > 0
+                ? row.getSpread().multiply(BigDecimal.valueOf(100)).divide(row.getLowest(), 2, RoundingMode.HALF_UP)
+                : null);
             
         } catch (Exception e) {
             logger.error("Error getting bid stats: ", e);
@@ -317,39 +342,12 @@ public class BidService {
   
     @Cacheable(value = "tenderBids", key = "#tenderId",
               condition = "#tenderId != null",
-              unless = "#result == null")
+              sync = true)
     public List<BidWithBidderResponse> getBidsWithBidderDetails(Long tenderId) {
         logger.debug("Fetching bids with bidder details for tender: {} (Cache Miss - loading from DB)", tenderId);
         try {
-            List<Bid> bids = bidRepository.findByTenderId(tenderId);
-            
-            return bids.stream().map(bid -> {
-                BidWithBidderResponse response = new BidWithBidderResponse();
-                response.setBidId(bid.getId());
-                response.setTenderId(bid.getTenderId());
-                response.setBidderId(bid.getBidderId());
-                response.setBidAmount(bid.getBidAmount());
-                response.setProposalText(bid.getProposalText());
-                response.setStatus(bid.getStatus());
-                response.setIsWinning(bid.getIsWinning());
-                response.setContactNumber(bid.getContactNumber());
-                response.setCreatedAt(bid.getCreatedAt());
-                response.setUpdatedAt(bid.getUpdatedAt());
-                response.setDocumentPath(bid.getDocumentPath());
-                response.setDocumentPaths(bid.getDocumentPaths());
-                
-                // Get bidder details (could also cache bidder lookups separately)
-                Bidder bidder = bidderRepository.findById(bid.getBidderId()).orElse(null);
-                if (bidder != null) {
-                    response.setBidderCompanyName(bidder.getCompanyName());
-                    response.setBidderEmail(bidder.getEmail());
-                    response.setBidderPhone(bidder.getPhone());
-                    response.setBidderType(bidder.getType());
-                    response.setBidderContactPerson(bidder.getContactPerson());
-                }
-                
-                return response;
-            }).collect(Collectors.toList());
+            // Single join query instead of one bidder lookup per bid
+            return bidRepository.findBidsWithBidderDetails(tenderId);
             
         } catch (Exception e) {
             logger.error("Error getting bids with bidder details: ", e);
@@ -1,19 +1,23 @@
 package com.example.services;
 
 import com.example.dto.BidderRequest;
+import com.example.dto.CursorPage;
 import com.example.entity.Bidder;
 import com.example.repository.BidderRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.criteria.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 
 @Service
@@ -24,8 +28,18 @@ public class BidderService {
     @Autowired
     private BidderRepository bidderRepository;
 
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private DashboardAggregateStore dashboardAggregateStore;
+
+    // Stale-while-revalidate reloads read the repository directly, not through the @Cacheable proxy
+    @PostConstruct
+    void registerCacheReloaders() {
+        cacheInvalidator.registerReloader("allBidders", key -> bidderRepository.findAll());
+    }
    
-    @CacheEvict(value = {"allBidders", "biddersByUser", "bidderStats", "dashboardData"}, allEntries = true)
     public Map<String, Object> createBidder(BidderRequest request) {
         Map<String, Object> response = new HashMap<>();
         
@@ -50,6 +64,8 @@ public class BidderService {
             bidder.setWinningBids(request.getWinningBids() != null ? request.getWinningBids() : 0);
 
             Bidder savedBidder = bidderRepository.save(bidder);
+            cacheInvalidator.bidderChanged(savedBidder);
+            dashboardAggregateStore.bidderCreated(savedBidder);
             
             response.put("success", true);
             response.put("message", "Bidder created successfully");
@@ -66,7 +82,7 @@ public class BidderService {
     }
 
     
-    @Cacheable(value = "allBidders", unless = "#result == null")
+    @Cacheable(value = "allBidders", sync = true)
     public List<Bidder> getAllBidders() {
         logger.debug("Fetching all bidders (Cache Miss - loading from DB)");
         return bidderRepository.findAll();
@@ -75,7 +91,7 @@ public class BidderService {
  
     @Cacheable(value = "biddersByUser", key = "#userId", 
               condition = "#userId != null", 
-              unless = "#result == null")
+              sync = true)
     public List<Bidder> getBiddersByUser(Long userId) {
         logger.debug("Fetching bidders for user: {} (Cache Miss - loading from DB)", userId);
         return bidderRepository.findByCreatedBy(userId);
@@ -84,14 +100,13 @@ public class BidderService {
     
     @Cacheable(value = "bidderById", key = "#id",
               condition = "#id != null",
-              unless = "#result == null")
+              sync = true)
     public Bidder getBidderById(Long id) {
         logger.debug("Fetching bidder by ID: {} (Cache Miss - loading from DB)", id);
         return bidderRepository.findById(id).orElse(null);
     }
 
     
-    @CacheEvict(value = {"allBidders", "bidderById", "biddersByUser", "bidderStats", "dashboardData"}, allEntries = true)
     public Map<String, Object> updateBidder(Long id, Long userId, BidderRequest request) {
         Map<String, Object> response = new HashMap<>();
         
@@ -109,6 +124,7 @@ public class BidderService {
                 response.put("message", "You are not authorized to edit this bidder");
                 return response;
             }
+            String oldStatus = bidder.getStatus();
 
             if (request.getEmail() != null && !request.getEmail().equals(bidder.getEmail())) {
                 if (bidderRepository.existsByEmail(request.getEmail())) {
@@ -145,6 +161,8 @@ public class BidderService {
             }
 
             Bidder updatedBidder = bidderRepository.save(bidder);
+            cacheInvalidator.bidderProfileChanged(updatedBidder);
+            dashboardAggregateStore.bidderStatusChanged(oldStatus, updatedBidder.getStatus());
             
             response.put("success", true);
             response.put("message", "Bidder updated successfully");
@@ -160,7 +178,6 @@ public class BidderService {
         return response;
     }
 
-    @CacheEvict(value = {"allBidders", "bidderById", "biddersByUser", "bidderStats", "dashboardData"}, allEntries = true)
     public Map<String, Object> deleteBidder(Long id, Long userId) {
         Map<String, Object> response = new HashMap<>();
         
@@ -179,6 +196,8 @@ public class BidderService {
             }
 
             bidderRepository.delete(bidder);
+            cacheInvalidator.bidderProfileChanged(bidder);
+            dashboardAggregateStore.bidderDeleted(bidder);
             
             response.put("success", true);
             response.put("message", "Bidder deleted successfully");
@@ -194,21 +213,17 @@ public class BidderService {
     }
 
    
-    @Cacheable(value = "bidderStats", unless = "#result == null")
+    @Cacheable(value = "bidderStats", sync = true)
     public Map<String, Object> getBidderStats() {
         logger.debug("Fetching bidder stats (Cache Miss - loading from DB)");
         Map<String, Object> stats = new HashMap<>();
         
         try {
-            List<Bidder> allBidders = bidderRepository.findAll();
+            BidderRepository.BidderStats row = bidderRepository.getBidderStats();
             
-            int totalBidders = allBidders.size();
-            long activeBidders = allBidders.stream()
-                .filter(b -> "ACTIVE".equals(b.getStatus()))
-                .count();
-            int totalWinningBids = allBidders.stream()
-                .mapToInt(b -> b.getWinningBids() != null ? b.getWinningBids() : 0)
-                .sum();
+            long totalBidders = row.getTotal();
+            long activeBidders = row.getActive();
+            long totalWinningBids = row.getWinningBids();
             double activeRate = totalBidders > 0 ? (double) activeBidders / totalBidders * 100 : 0;
             
             stats.put("totalBidders", totalBidders);
@@ -227,24 +242,36 @@ public class BidderService {
         return stats;
     }
 
-    
+    // Filtering runs in the database instead of loading every bidder into memory
     public List<Bidder> searchBidders(String searchTerm, String status, String type) {
-        List<Bidder> bidders = bidderRepository.findAll();
-        
-        return bidders.stream()
-            .filter(b -> {
-                boolean matchesSearch = searchTerm == null || searchTerm.isEmpty() ||
-                    b.getCompanyName().toLowerCase().contains(searchTerm.toLowerCase()) ||
-                    b.getEmail().toLowerCase().contains(searchTerm.toLowerCase());
-                
-                boolean matchesStatus = status == null || status.isEmpty() ||
-                    b.getStatus().equalsIgnoreCase(status);
-                
-                boolean matchesType = type == null || type.isEmpty() ||
-                    b.getType().equalsIgnoreCase(type);
-                
-                return matchesSearch && matchesStatus && matchesType;
-            })
-            .collect(Collectors.toList());
+        return bidderRepository.findAll(filterSpec(searchTerm, status, type, null),
+                Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")));
+    }
+
+    public CursorPage<Bidder> getBiddersPage(KeysetPaging.Request page, String searchTerm, String status, String type) {
+        return KeysetPaging.fetch(bidderRepository, filterSpec(searchTerm, status, type, page), page,
+                Bidder::getCreatedAt, Bidder::getId);
+    }
+
+    private Specification<Bidder> filterSpec(String searchTerm, String status, String type, KeysetPaging.Request page) {
+        return (root, query, cb) -> {
+            List<Predicate> filters = new ArrayList<>();
+            if (searchTerm != null && !searchTerm.isEmpty()) {
+                String pattern = KeysetPaging.containsPattern(searchTerm);
+                filters.add(cb.or(
+                        cb.like(cb.lower(root.get("companyName")), pattern, '\\'),
+                        cb.like(cb.lower(root.get("email")), pattern, '\\')));
+            }
+            if (status != null && !status.isEmpty()) {
+                filters.add(cb.equal(cb.upper(root.get("status")), status.toUpperCase()));
+            }
+            if (type != null && !type.isEmpty()) {
+                filters.add(cb.equal(cb.upper(root.get("type")), type.toUpperCase()));
+            }
+            if (page == null) {
+                return cb.and(filters.toArray(new Predicate[0]));
+            }
+            return KeysetPaging.and(root, cb, filters, page);
+        };
     }
 }
@@ -0,0 +1,122 @@
+package com.example.services;
+
+import com.example.config.StaleWhileRevalidateCache;
+import com.example.entity.Bid;
+import com.example.entity.Bidder;
+import com.example.entity.Tender;
+import com.example.repository.BidRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Evicts only the cache keys a write actually affects, instead of clearing whole regions.
+ *
+ * Keyed regions: bidsByTender, tenderBids, bidStats (tenderId); bidsByBidder, bidsWithTenders (bidderId);
+ * bidDetails (bidId); bidderById, tenderById (id); biddersByUser, tendersByUser (createdBy).
+ * The single-key list and stats regions (allTenders, allBidders, bidderStats) are cleared.
+ * Dashboard figures are kept current separately by {@link DashboardAggregateStore}.
+ */
+@Component
+public class CacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidator.class);
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    // A bid was created, changed or deleted
+    public void bidChanged(Bid bid) {
+        if (bid == null) {
+            return;
+        }
+        evict("bidsByTender", bid.getTenderId());
+        evict("tenderBids", bid.getTenderId());
+        evict("bidStats", bid.getTenderId());
+        evict("bidsByBidder", bid.getBidderId());
+        evict("bidsWithTenders", bid.getBidderId());
+        evict("bidDetails", bid.getId());
+        logger.debug("Evicted caches for bid {} (tender {}, bidder {})", bid.getId(), bid.getTenderId(), bid.getBidderId());
+    }
+
+    // A bidder row was created or its counters changed; nothing cached elsewhere embeds those fields
+    public void bidderChanged(Bidder bidder) {
+        if (bidder == null) {
+            return;
+        }
+        evict("bidderById", bidder.getId());
+        evict("biddersByUser", bidder.getCreatedBy());
+        clear("allBidders");
+        clear("bidderStats");
+    }
+
+    // Company name, email, phone, type or contact person changed: also refresh the tender bid lists showing them
+    public void bidderProfileChanged(Bidder bidder) {
+        bidderChanged(bidder);
+        if (bidder == null || bidder.getId() == null) {
+            return;
+        }
+        for (Long tenderId : bidRepository.findTenderIdsByBidderId(bidder.getId())) {
+            evict("tenderBids", tenderId);
+        }
+    }
+
+    // A tender was created, changed or deleted: also refresh the bidder bid lists that show its details
+    public void tenderChanged(Tender tender) {
+        if (tender == null) {
+            return;
+        }
+        evict("tenderById", tender.getId());
+        evict("tendersByUser", tender.getCreatedBy());
+        clear("allTenders");
+        if (tender.getId() != null) {
+            for (Long bidderId : bidRepository.findBidderIdsByTenderId(tender.getId())) {
+                evict("bidsWithTenders", bidderId);
+            }
+        }
+    }
+
+    // A bulk update closed these tenders: evict each one's keys, with one query for the affected bidders
+    public void tendersClosed(Collection<Long> tenderIds, Collection<Long> creators) {
+        if (tenderIds.isEmpty()) {
+            return;
+        }
+        tenderIds.forEach(id -> evict("tenderById", id));
+        creators.forEach(createdBy -> evict("tendersByUser", createdBy));
+        clear("allTenders");
+        for (Long bidderId : bidRepository.findBidderIdsByTenderIdIn(tenderIds)) {
+            evict("bidsWithTenders", bidderId);
+        }
+    }
+
+    // How a region configured with refresh-after reloads a stale key; a no-op for regions without one
+    public void registerReloader(String cacheName, Function<Object, ?> reloader) {
+        if (cacheManager.getCache(cacheName) instanceof StaleWhileRevalidateCache cache) {
+            cache.setReloader(reloader);
+            logger.debug("Registered background reloader for cache {}", cacheName);
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
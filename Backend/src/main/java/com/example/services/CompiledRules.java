@@ -0,0 +1,68 @@
+package com.example.services;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of compiled regexes used by the validators.
+ * Every pattern is compiled once and reused, so validation never compiles on the hot path.
+ */
+public final class CompiledRules {
+
+    // Guards against unbounded growth if callers ever pass arbitrary words
+    private static final int MAX_ENTRIES = 1024;
+
+    private static final Map<String, Pattern> WORD_PATTERNS = new ConcurrentHashMap<>();
+    private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+    private CompiledRules() {
+    }
+
+    /**
+     * Case-insensitive whole-word matcher for {@code word}, e.g. "pan" matches "PAN card" but not "company".
+     */
+    public static Pattern wordBoundary(String word) {
+        String key = word.toLowerCase();
+        Pattern pattern = WORD_PATTERNS.get(key);
+        if (pattern != null) {
+            return pattern;
+        }
+        pattern = Pattern.compile("\\b" + Pattern.quote(key) + "\\b", Pattern.CASE_INSENSITIVE);
+        if (WORD_PATTERNS.size() < MAX_ENTRIES) {
+            WORD_PATTERNS.putIfAbsent(key, pattern);
+        }
+        return pattern;
+    }
+
+    public static boolean containsWord(String text, String word) {
+        if (text == null || word == null || word.isBlank()) return false;
+        return wordBoundary(word).matcher(text).find();
+    }
+
+    public static Pattern pattern(String regex, int flags) {
+        String key = flags + "/" + regex;
+        Pattern pattern = PATTERNS.get(key);
+        if (pattern != null) {
+            return pattern;
+        }
+        pattern = Pattern.compile(regex, flags);
+        if (PATTERNS.size() < MAX_ENTRIES) {
+            PATTERNS.putIfAbsent(key, pattern);
+        }
+        return pattern;
+    }
+
+    static void precompileWords(Collection<String> words) {
+        for (String word : words) {
+            if (word != null && !word.isBlank()) {
+                wordBoundary(word);
+            }
+        }
+    }
+
+    static int size() {
+        return WORD_PATTERNS.size() + PATTERNS.size();
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
 
 @Service
 public class ContentValidationService {
@@ -24,10 +25,21 @@ public class ContentValidationService {
     @Autowired
     private DuplicateDetector duplicateDetector;
 
+    @Autowired
+    private OcrResultCache ocrResultCache;
+
+    @Autowired
+    private UploadSpooler uploadSpooler;
+
 
     //  CONTENT-BASED VALIDATION (COMPREHENSIVE - DOCUMENT SPECIFIC)
     
     public ValidationResult validateDocumentContent(List<String> requiredDocuments, MultipartFile[] files) {
+        return validateDocumentContent(requiredDocuments, files, ValidationProgressListener.NONE);
+    }
+
+    public ValidationResult validateDocumentContent(List<String> requiredDocuments, MultipartFile[] files,
+                                                    ValidationProgressListener listener) {
         
         logger.info("=== Starting COMPREHENSIVE CONTENT-BASED validation (Document-Specific) ===");
         
@@ -47,11 +59,17 @@ public class ContentValidationService {
         }
         
         // Extract text from files
-        Map<String, String> extractedContent = extractTextFromFiles(files);
+        Map<String, String> extractedContent = extractTextFromFiles(files, listener);
         
+        // Analyze each file's text once, shared by every required document
+        Map<String, AnalyzedDocument> analyzed = new HashMap<>();
+        for (Map.Entry<String, String> entry : extractedContent.entrySet()) {
+            analyzed.put(entry.getKey(), keywordMatcher.analyze(entry.getValue()));
+        }
+
         // Validate each required document using comprehensive validation
         for (String requiredDoc : requiredDocuments) {
-            boolean found = findDocumentComprehensively(requiredDoc, extractedContent, result);
+            boolean found = findDocumentComprehensively(requiredDoc, extractedContent, analyzed, result);
             
             if (!found) {
                 result.getMissingDocuments().add(requiredDoc);
@@ -77,7 +95,9 @@ public class ContentValidationService {
      * Comprehensive document validation using document-specific templates
      * Validates that the document contains expected fields for that document type
      */
-    private boolean findDocumentComprehensively(String requiredDoc, Map<String, String> extractedContent, ValidationResult result) {
+    private boolean findDocumentComprehensively(String requiredDoc, Map<String, String> extractedContent,
+                                                Map<String, AnalyzedDocument> analyzed,
+                                                ValidationResult result) {
         String requiredDocLower = requiredDoc.toLowerCase().trim();
         boolean found = false;
 
@@ -115,7 +135,7 @@ public class ContentValidationService {
             }
 
             KeywordMatcher.DocumentValidationResult validationResult =
-                    keywordMatcher.validateDocumentComprehensively(requiredDocLower, content);
+                    keywordMatcher.validateDocumentComprehensively(requiredDocLower, analyzed.get(entry.getKey()));
 
             if (validationResult.isValid()) {
                 found = true;
@@ -227,10 +247,12 @@ public class ContentValidationService {
                 continue;
             }
 
+            AnalyzedDocument doc = keywordMatcher.analyze(content);
+
             // PAN Card validation - only for PAN required documents
             if (isPanCard) {
                 // First try PAN number pattern
-                String foundPanNumber = keywordMatcher.validatePanCardInContent(content);
+                String foundPanNumber = keywordMatcher.validatePanCardInContent(doc);
                 if (foundPanNumber != null) {
                     found = true;
                     result.getMatchedDocuments().add(requiredDoc + " [PAN: " + foundPanNumber + "] -> " + entry.getKey());
@@ -238,7 +260,7 @@ public class ContentValidationService {
                     break;
                 }
                 // Then try PAN keywords only (not other document keywords)
-                if (keywordMatcher.checkContentMatch(requiredDocLower, keywords, fileName, contentLower)) {
+                if (keywordMatcher.checkContentMatch(requiredDocLower, keywords, fileName, doc)) {
                     found = true;
                     result.getMatchedDocuments().add(requiredDoc + " [KEYWORD] -> " + entry.getKey());
                     logger.info("PAN card validated via keyword in {}", entry.getKey());
@@ -247,14 +269,14 @@ public class ContentValidationService {
             }
             // Aadhaar validation - only for Aadhaar required documents
             else if (isAadhaar) {
-                String foundAadhaar = keywordMatcher.validateAadharCardInContent(content);
+                String foundAadhaar = keywordMatcher.validateAadharCardInContent(doc);
                 if (foundAadhaar != null) {
                     found = true;
                     result.getMatchedDocuments().add(requiredDoc + " [AADHAAR: " + foundAadhaar + "] -> " + entry.getKey());
                     logger.info("Aadhaar validated in {}", entry.getKey());
                     break;
                 }
-                if (keywordMatcher.checkContentMatch(requiredDocLower, keywords, fileName, contentLower)) {
+                if (keywordMatcher.checkContentMatch(requiredDocLower, keywords, fileName, doc)) {
                     found = true;
                     result.getMatchedDocuments().add(requiredDoc + " [KEYWORD] -> " + entry.getKey());
                     break;
@@ -262,14 +284,14 @@ public class ContentValidationService {
             }
             // GST validation - only for GST required documents
             else if (isGST) {
-                String foundGST = keywordMatcher.validateGSTInContent(content);
+                String foundGST = keywordMatcher.validateGSTInContent(doc);
                 if (foundGST != null) {
                     found = true;
                     result.getMatchedDocuments().add(requiredDoc + " [GST: " + foundGST + "] -> " + entry.getKey());
                     logger.info("GST validated in {}", entry.getKey());
                     break;
                 }
-                if (keywordMatcher.checkContentMatch(requiredDocLower, keywords, fileName, contentLower)) {
+                if (keywordMatcher.checkContentMatch(requiredDocLower, keywords, fileName, doc)) {
                     found = true;
                     result.getMatchedDocuments().add(requiredDoc + " [KEYWORD] -> " + entry.getKey());
                     break;
@@ -277,12 +299,12 @@ public class ContentValidationService {
             }
             // Income Tax validation
             else if (isIncomeTax) {
-                if (keywordMatcher.validateIncomeTaxInContent(content) != null) {
+                if (keywordMatcher.validateIncomeTaxInContent(doc) != null) {
                     found = true;
                     result.getMatchedDocuments().add(requiredDoc + " [KEYWORD] -> " + entry.getKey());
                     break;
                 }
-                if (keywordMatcher.checkContentMatch(requiredDocLower, keywords, fileName, contentLower)) {
+                if (keywordMatcher.checkContentMatch(requiredDocLower, keywords, fileName, doc)) {
                     found = true;
                     result.getMatchedDocuments().add(requiredDoc + " [KEYWORD] -> " + entry.getKey());
                     break;
@@ -290,12 +312,12 @@ public class ContentValidationService {
             }
             // Experience validation
             else if (isExperience) {
-                if (keywordMatcher.validateExperienceCertificateInContent(content) != null) {
+                if (keywordMatcher.validateExperienceCertificateInContent(doc) != null) {
                     found = true;
                     result.getMatchedDocuments().add(requiredDoc + " [KEYWORD] -> " + entry.getKey());
                     break;
                 }
-                if (keywordMatcher.checkContentMatch(requiredDocLower, keywords, fileName, contentLower)) {
+                if (keywordMatcher.checkContentMatch(requiredDocLower, keywords, fileName, doc)) {
                     found = true;
                     result.getMatchedDocuments().add(requiredDoc + " [KEYWORD] -> " + entry.getKey());
                     break;
@@ -303,12 +325,12 @@ public class ContentValidationService {
             }
             // Company Registration validation
             else if (isCompanyReg) {
-                if (keywordMatcher.validateCompanyRegistrationInContent(content) != null) {
+                if (keywordMatcher.validateCompanyRegistrationInContent(doc) != null) {
                     found = true;
                     result.getMatchedDocuments().add(requiredDoc + " [KEYWORD] -> " + entry.getKey());
                     break;
                 }
-                if (keywordMatcher.checkContentMatch(requiredDocLower, keywords, fileName, contentLower)) {
+                if (keywordMatcher.checkContentMatch(requiredDocLower, keywords, fileName, doc)) {
                     found = true;
                     result.getMatchedDocuments().add(requiredDoc + " [KEYWORD] -> " + entry.getKey());
                     break;
@@ -316,12 +338,12 @@ public class ContentValidationService {
             }
             // Insurance validation
             else if (isInsurance) {
-                if (keywordMatcher.validateInsuranceInContent(content) != null) {
+                if (keywordMatcher.validateInsuranceInContent(doc) != null) {
                     found = true;
                     result.getMatchedDocuments().add(requiredDoc + " [KEYWORD] -> " + entry.getKey());
                     break;
                 }
-                if (keywordMatcher.checkContentMatch(requiredDocLower, keywords, fileName, contentLower)) {
+                if (keywordMatcher.checkContentMatch(requiredDocLower, keywords, fileName, doc)) {
                     found = true;
                     result.getMatchedDocuments().add(requiredDoc + " [KEYWORD] -> " + entry.getKey());
                     break;
@@ -329,7 +351,7 @@ public class ContentValidationService {
             }
             // For other document types, use generic keyword matching
             else {
-                if (keywordMatcher.checkContentMatch(requiredDocLower, keywords, fileName, contentLower)) {
+                if (keywordMatcher.checkContentMatch(requiredDocLower, keywords, fileName, doc)) {
                     found = true;
                     result.getMatchedDocuments().add(requiredDoc + " [CONTENT] -> " + entry.getKey());
                     logger.info("Content matched: '{}' in {}", requiredDoc, entry.getKey());
@@ -344,6 +366,11 @@ public class ContentValidationService {
     //  RULE-BASED VALIDATION (SIMPLIFIED)
    
     public ValidationResult validateWithRules(List<String> requiredDocuments, MultipartFile[] files) {
+        return validateWithRules(requiredDocuments, files, ValidationProgressListener.NONE);
+    }
+
+    public ValidationResult validateWithRules(List<String> requiredDocuments, MultipartFile[] files,
+                                              ValidationProgressListener listener) {
 
         logger.info("=== Starting RULE-BASED validation (Simplified) ===");
 
@@ -366,7 +393,7 @@ public class ContentValidationService {
         checkForDuplicates(files, result);
 
         //  Step 1 → OCR Extraction
-        Map<String, String> extractedContents = extractTextFromFiles(files);
+        Map<String, String> extractedContents = extractTextFromFiles(files, listener);
 
         //  Step 2 → EXCLUSIVE classification (no overlap)
         // Each uploaded file can satisfy ONLY ONE document type.
@@ -447,11 +474,7 @@ public class ContentValidationService {
     }
 
     private boolean containsWord(String text, String word) {
-        if (text == null || word == null || word.isBlank()) return false;
-        return java.util.regex.Pattern
-                .compile("\\b" + java.util.regex.Pattern.quote(word) + "\\b", java.util.regex.Pattern.CASE_INSENSITIVE)
-                .matcher(text)
-                .find();
+        return CompiledRules.containsWord(text, word);
     }
 
     private static class Classification {
@@ -486,14 +509,17 @@ public class ContentValidationService {
                 continue;
             }
 
+            // One analysis per file, shared by all type scorers
+            AnalyzedDocument doc = keywordMatcher.analyze(content);
+
             // Score each type
-            Score pan = scorePan(content);
-            Score aadhaar = scoreAadhaar(content);
-            Score gst = scoreGst(content);
-            Score incomeTax = scoreIncomeTax(content);
-            Score experience = scoreExperience(content);
-            Score companyReg = scoreCompanyReg(content);
-            Score insurance = scoreInsurance(content);
+            Score pan = scorePan(doc);
+            Score aadhaar = scoreAadhaar(doc);
+            Score gst = scoreGst(doc);
+            Score incomeTax = scoreIncomeTax(doc);
+            Score experience = scoreExperience(doc);
+            Score companyReg = scoreCompanyReg(doc);
+            Score insurance = scoreInsurance(doc);
 
             List<Score> scores = Arrays.asList(pan, aadhaar, gst, incomeTax, experience, companyReg, insurance);
             scores.sort((a, b) -> Integer.compare(b.score, a.score));
@@ -528,63 +554,62 @@ public class ContentValidationService {
         }
     }
 
-    private Score scorePan(String content) {
-        String pan = keywordMatcher.validatePanCardInContent(content);
+    private Score scorePan(AnalyzedDocument doc) {
+        String pan = keywordMatcher.validatePanCardInContent(doc);
         if (pan == null) return new Score("PAN", 0, null);
         if ("PAN_KEYWORD_FOUND".equals(pan)) return new Score("PAN", 60, null);
         return new Score("PAN", 90, pan);
     }
 
-    private Score scoreAadhaar(String content) {
-        String a = keywordMatcher.validateAadharCardInContent(content);
+    private Score scoreAadhaar(AnalyzedDocument doc) {
+        String a = keywordMatcher.validateAadharCardInContent(doc);
         if (a == null) return new Score("AADHAAR", 0, null);
         if ("AADHAAR_KEYWORD_FOUND".equals(a)) return new Score("AADHAAR", 60, null);
         return new Score("AADHAAR", 90, a);
     }
 
-    private Score scoreGst(String content) {
-        String gst = keywordMatcher.validateGSTInContent(content);
+    private Score scoreGst(AnalyzedDocument doc) {
+        String gst = keywordMatcher.validateGSTInContent(doc);
         if (gst == null) return new Score("GST", 0, null);
         if ("GST_KEYWORD_FOUND".equals(gst)) return new Score("GST", 60, null);
         return new Score("GST", 90, gst);
     }
 
-    private Score scoreIncomeTax(String content) {
-        String it = keywordMatcher.validateIncomeTaxInContent(content);
+    private Score scoreIncomeTax(AnalyzedDocument doc) {
+        String it = keywordMatcher.validateIncomeTaxInContent(doc);
         if (it == null) return new Score("INCOME_TAX", 0, null);
 
         // Boost if strong ITR/AY context
-        String lower = content.toLowerCase();
         int score = 60;
-        if (lower.contains("assessment year") || lower.contains("return of income") || lower.contains("itr")) {
+        if (doc.hasKeyword("assessment year") || doc.hasKeyword("return of income") || doc.hasKeyword("itr")) {
             score = 80;
         }
         return new Score("INCOME_TAX", score, null);
     }
 
-    private Score scoreExperience(String content) {
-        String exp = keywordMatcher.validateExperienceCertificateInContent(content);
+    private Score scoreExperience(AnalyzedDocument doc) {
+        String exp = keywordMatcher.validateExperienceCertificateInContent(doc);
         if (exp == null) return new Score("EXPERIENCE", 0, null);
         return new Score("EXPERIENCE", 70, null);
     }
 
-    private Score scoreCompanyReg(String content) {
-        String cr = keywordMatcher.validateCompanyRegistrationInContent(content);
+    private Score scoreCompanyReg(AnalyzedDocument doc) {
+        String cr = keywordMatcher.validateCompanyRegistrationInContent(doc);
         if (cr == null) return new Score("COMPANY_REG", 0, null);
         if ("COMPANY_REG_FOUND".equals(cr)) return new Score("COMPANY_REG", 70, null);
         // CIN returned
         return new Score("COMPANY_REG", 90, cr);
     }
 
-    private Score scoreInsurance(String content) {
-        String ins = keywordMatcher.validateInsuranceInContent(content);
+    private Score scoreInsurance(AnalyzedDocument doc) {
+        String ins = keywordMatcher.validateInsuranceInContent(doc);
         if (ins == null) return new Score("INSURANCE", 0, null);
         return new Score("INSURANCE", 70, null);
     }
 
    
     //  OCR TEXT EXTRACTION
-    private Map<String, String> extractTextFromFiles(MultipartFile[] files) {
+    private Map<String, String> extractTextFromFiles(MultipartFile[] files, ValidationProgressListener listener) {
 
         Map<String, String> extracted = new HashMap<>();
 
@@ -593,24 +618,66 @@ public class ContentValidationService {
             if (file == null || file.isEmpty())
                 continue;
 
+            // Background jobs are cancelled by interrupting the worker; stop between files
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Validation cancelled");
+            }
+
             String fileName = Optional.ofNullable(file.getOriginalFilename()).orElse("unknown");
 
+            listener.onFileStatus(fileName, "PROCESSING");
+
+            // The upload is written to disk once and hashed in the same pass; OCR then reads the file
+            UploadSpooler.SpooledUpload spooled = null;
+            try {
+                spooled = uploadSpooler.spool(file);
+            } catch (Exception e) {
+                logger.warn("Could not spool {} to disk, reading it directly: {}", fileName, e.getMessage());
+            }
+
             try {
+                // Identical uploads (same PAN/GST PDF for every tender) reuse the earlier OCR result
+                String hash = spooled != null ? spooled.getHash() : duplicateDetector.contentHash(file);
+                String cached = hash != null ? ocrResultCache.get(hash) : null;
+                if (cached != null) {
+                    extracted.put(fileName, cached);
+                    logger.info("✓ OCR cache hit: {}", fileName);
+                    listener.onFileStatus(fileName, "CACHED");
+                    continue;
+                }
+
                 logger.info("Extracting text from: {}", fileName);
 
-                String content = ocrService.extractText(file);
+                String content = spooled != null
+                        ? ocrService.extractTextFromFile(spooled.getPath(), fileName, spooled.getSize())
+                        : ocrService.extractText(file);
 
                 if (content == null || content.isBlank()) {
                     extracted.put(fileName, "IMAGE_PDF_FALLBACK");
                     logger.warn("OCR failed for {}", fileName);
+                    listener.onFileStatus(fileName, "FAILED");
                 } else {
                     extracted.put(fileName, content);
                     logger.info("✓ OCR Success: {}", fileName);
+                    listener.onFileStatus(fileName, "DONE");
+                    // An interrupted extraction may be partial, so it is never cached
+                    if (hash != null && !content.startsWith("Error") && !Thread.currentThread().isInterrupted()) {
+                        ocrResultCache.put(hash, content);
+                    }
                 }
 
+            } catch (OcrOverloadedException | CancellationException e) {
+                // Shed the whole request rather than validating it with a file silently missing
+                listener.onFileStatus(fileName, "FAILED");
+                throw e;
             } catch (Exception e) {
                 extracted.put(fileName, "IMAGE_PDF_FALLBACK");
                 logger.error("OCR Exception for {}: {}", fileName, e.getMessage());
+                listener.onFileStatus(fileName, "FAILED");
+            } finally {
+                if (spooled != null) {
+                    spooled.close();
+                }
             }
         }
 
@@ -649,15 +716,17 @@ public class ContentValidationService {
             if (content == null || content.startsWith("IMAGE_PDF_FALLBACK"))
                 continue;
 
+            AnalyzedDocument doc = keywordMatcher.analyze(content);
+
             // PAN validation - ONLY if PAN is required
             if (isPan) {
-                String pan = keywordMatcher.validatePanCardInContent(content);
+                String pan = keywordMatcher.validatePanCardInContent(doc);
                 if (pan != null) {
                     result.getMatchedDocuments().add(requiredDoc + " -> " + fileName + " (PAN: " + pan + ")");
                     return true;
                 }
                 // Also check keyword match
-                if (keywordMatcher.checkContentMatch(docLower, keywords, fileName.toLowerCase(), content.toLowerCase())) {
+                if (keywordMatcher.checkContentMatch(docLower, keywords, fileName.toLowerCase(), doc)) {
                     result.getMatchedDocuments().add(requiredDoc + " -> " + fileName);
                     return true;
                 }
@@ -666,12 +735,12 @@ public class ContentValidationService {
 
             // Aadhaar validation - ONLY if Aadhaar is required
             if (isAadhaar) {
-                String aadhaar = keywordMatcher.validateAadharCardInContent(content);
+                String aadhaar = keywordMatcher.validateAadharCardInContent(doc);
                 if (aadhaar != null) {
                     result.getMatchedDocuments().add(requiredDoc + " -> " + fileName + " (Aadhaar: " + aadhaar + ")");
                     return true;
                 }
-                if (keywordMatcher.checkContentMatch(docLower, keywords, fileName.toLowerCase(), content.toLowerCase())) {
+                if (keywordMatcher.checkContentMatch(docLower, keywords, fileName.toLowerCase(), doc)) {
                     result.getMatchedDocuments().add(requiredDoc + " -> " + fileName);
                     return true;
                 }
@@ -680,12 +749,12 @@ public class ContentValidationService {
 
             // GST validation - ONLY if GST is required
             if (isGST) {
-                String gst = keywordMatcher.validateGSTInContent(content);
+                String gst = keywordMatcher.validateGSTInContent(doc);
                 if (gst != null) {
                     result.getMatchedDocuments().add(requiredDoc + " -> " + fileName + " (GSTIN: " + gst + ")");
                     return true;
                 }
-                if (keywordMatcher.checkContentMatch(docLower, keywords, fileName.toLowerCase(), content.toLowerCase())) {
+                if (keywordMatcher.checkContentMatch(docLower, keywords, fileName.toLowerCase(), doc)) {
                     result.getMatchedDocuments().add(requiredDoc + " -> " + fileName);
                     return true;
                 }
@@ -694,11 +763,11 @@ public class ContentValidationService {
 
             // Income Tax validation - ONLY if Income Tax is required
             if (isIncomeTax) {
-                if (keywordMatcher.validateIncomeTaxInContent(content) != null) {
+                if (keywordMatcher.validateIncomeTaxInContent(doc) != null) {
                     result.getMatchedDocuments().add(requiredDoc + " -> " + fileName);
                     return true;
                 }
-                if (keywordMatcher.checkContentMatch(docLower, keywords, fileName.toLowerCase(), content.toLowerCase())) {
+                if (keywordMatcher.checkContentMatch(docLower, keywords, fileName.toLowerCase(), doc)) {
                     result.getMatchedDocuments().add(requiredDoc + " -> " + fileName);
                     return true;
                 }
@@ -707,11 +776,11 @@ public class ContentValidationService {
 
             // Experience validation - ONLY if Experience is required
             if (isExperience) {
-                if (keywordMatcher.validateExperienceCertificateInContent(content) != null) {
+                if (keywordMatcher.validateExperienceCertificateInContent(doc) != null) {
                     result.getMatchedDocuments().add(requiredDoc + " -> " + fileName);
                     return true;
                 }
-                if (keywordMatcher.checkContentMatch(docLower, keywords, fileName.toLowerCase(), content.toLowerCase())) {
+                if (keywordMatcher.checkContentMatch(docLower, keywords, fileName.toLowerCase(), doc)) {
                     result.getMatchedDocuments().add(requiredDoc + " -> " + fileName);
                     return true;
                 }
@@ -720,11 +789,11 @@ public class ContentValidationService {
 
             // Company Registration validation - ONLY if Company Reg is required
             if (isCompanyReg) {
-                if (keywordMatcher.validateCompanyRegistrationInContent(content) != null) {
+                if (keywordMatcher.validateCompanyRegistrationInContent(doc) != null) {
                     result.getMatchedDocuments().add(requiredDoc + " -> " + fileName);
                     return true;
                 }
-                if (keywordMatcher.checkContentMatch(docLower, keywords, fileName.toLowerCase(), content.toLowerCase())) {
+                if (keywordMatcher.checkContentMatch(docLower, keywords, fileName.toLowerCase(), doc)) {
                     result.getMatchedDocuments().add(requiredDoc + " -> " + fileName);
                     return true;
                 }
@@ -733,11 +802,11 @@ public class ContentValidationService {
 
             // Insurance validation - ONLY if Insurance is required
             if (isInsurance) {
-                if (keywordMatcher.validateInsuranceInContent(content) != null) {
+                if (keywordMatcher.validateInsuranceInContent(doc) != null) {
                     result.getMatchedDocuments().add(requiredDoc + " -> " + fileName);
                     return true;
                 }
-                if (keywordMatcher.checkContentMatch(docLower, keywords, fileName.toLowerCase(), content.toLowerCase())) {
+                if (keywordMatcher.checkContentMatch(docLower, keywords, fileName.toLowerCase(), doc)) {
                     result.getMatchedDocuments().add(requiredDoc + " -> " + fileName);
                     return true;
                 }
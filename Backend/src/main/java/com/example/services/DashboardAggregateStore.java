@@ -0,0 +1,411 @@
+package com.example.services;
+
+import com.example.dto.DashboardResponse;
+import com.example.entity.Bid;
+import com.example.entity.Bidder;
+import com.example.entity.Tender;
+import com.example.repository.BidRepository;
+import com.example.repository.BidderRepository;
+import com.example.repository.TenderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dashboard figures kept up to date by the write paths instead of being recomputed per request.
+ *
+ * Status counters and per-month creation counts are adjusted in memory on every tender, bid and bidder
+ * write; the dashboard reads one prebuilt snapshot. The snapshot is rebuilt only after something changed,
+ * and a scheduled reconcile reloads the counters from the database to correct any drift
+ * (writes made outside this service, another instance, or a crash between commit and update).
+ *
+ * Each instance only sees its own writes between reconciles, so with several instances the figures can lag
+ * other nodes' writes by up to {@code dashboard.reconcile-interval-ms}. Write deltas and the reload run under
+ * one lock and the reload swaps in freshly built maps, so a write is never lost to a reconcile; one committed
+ * while the reload queries run may be counted twice until the next reconcile.
+ */
+@Service
+public class DashboardAggregateStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardAggregateStore.class);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final int MONTHS = 6;
+    private static final int RECENT_ITEMS = 5;
+    private static final String NO_STATUS = "UNKNOWN";
+
+    @Autowired
+    private TenderRepository tenderRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private BidderRepository bidderRepository;
+
+    // Replaced wholesale by reloadCounters(); only read or adjusted with the lock held
+    private Map<String, AtomicLong> tenderStatusCounts = new ConcurrentHashMap<>();
+    private Map<String, AtomicLong> bidStatusCounts = new ConcurrentHashMap<>();
+    private Map<String, AtomicLong> bidderStatusCounts = new ConcurrentHashMap<>();
+    private Map<YearMonth, AtomicLong> tendersPerMonth = new ConcurrentHashMap<>();
+    private Map<YearMonth, AtomicLong> bidsPerMonth = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+    // A lock rather than synchronized: the holder runs queries, and a virtual thread blocked on a monitor pins its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean loaded;
+    private volatile DashboardResponse snapshot;
+    private volatile boolean recentDirty = true;
+    private List<DashboardResponse.TenderSummary> recentTenders = new ArrayList<>();
+    private List<DashboardResponse.BidSummary> recentBids = new ArrayList<>();
+    private List<DashboardResponse.BidderSummary> recentBidders = new ArrayList<>();
+
+    /**
+     * The current dashboard figures, with a null username. Cheap unless a write happened since the last call.
+     */
+    public DashboardResponse getSnapshot() {
+        DashboardResponse current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        lock.lock();
+        try {
+            if (!loaded) {
+                reloadCounters();
+            }
+            if (snapshot != null) {
+                return snapshot;
+            }
+            long builtFrom = version.get();
+            DashboardResponse built = buildSnapshot();
+            // A write that landed while building has already invalidated this one; don't publish it
+            if (version.get() == builtFrom) {
+                snapshot = built;
+            }
+            return built;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Tender write paths
+
+    public void tenderCreated(Tender tender) {
+        update(() -> {
+            increment(tenderStatusCounts, tender.getStatus());
+            increment(tendersPerMonth, tender.getCreatedAt());
+        });
+    }
+
+    public void tenderStatusChanged(String oldStatus, String newStatus) {
+        tenderStatusChanged(oldStatus, newStatus, 1);
+    }
+
+    // Bulk variant for set-based updates that moved several tenders at once
+    public void tenderStatusChanged(String oldStatus, String newStatus, long count) {
+        if (count <= 0 || sameStatus(oldStatus, newStatus)) {
+            return;
+        }
+        update(() -> {
+            counts(tenderStatusCounts, oldStatus).updateAndGet(c -> Math.max(0, c - count));
+            counts(tenderStatusCounts, newStatus).addAndGet(count);
+        });
+    }
+
+    public void tenderDeleted(Tender tender) {
+        update(() -> {
+            decrement(tenderStatusCounts, tender.getStatus());
+            decrement(tendersPerMonth, tender.getCreatedAt());
+        });
+    }
+
+    // Bid write paths
+
+    public void bidCreated(Bid bid) {
+        update(() -> {
+            increment(bidStatusCounts, bid.getStatus());
+            increment(bidsPerMonth, bid.getCreatedAt());
+        });
+    }
+
+    public void bidStatusChanged(String oldStatus, String newStatus) {
+        if (sameStatus(oldStatus, newStatus)) {
+            return;
+        }
+        update(() -> {
+            decrement(bidStatusCounts, oldStatus);
+            increment(bidStatusCounts, newStatus);
+        });
+    }
+
+    public void bidDeleted(Bid bid) {
+        update(() -> {
+            decrement(bidStatusCounts, bid.getStatus());
+            decrement(bidsPerMonth, bid.getCreatedAt());
+        });
+    }
+
+    // Bidder write paths
+
+    public void bidderCreated(Bidder bidder) {
+        update(() -> increment(bidderStatusCounts, bidder.getStatus()));
+    }
+
+    public void bidderStatusChanged(String oldStatus, String newStatus) {
+        update(() -> {
+            if (!sameStatus(oldStatus, newStatus)) {
+                decrement(bidderStatusCounts, oldStatus);
+                increment(bidderStatusCounts, newStatus);
+            }
+        });
+    }
+
+    public void bidderDeleted(Bidder bidder) {
+        update(() -> decrement(bidderStatusCounts, bidder.getStatus()));
+    }
+
+    /**
+     * Reload every counter from the database. Runs on first use and then periodically.
+     */
+    @Scheduled(initialDelayString = "${dashboard.reconcile-interval-ms:60000}",
+               fixedDelayString = "${dashboard.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        lock.lock();
+        try {
+            reloadCounters();
+            changed();
+        } catch (Exception e) {
+            logger.error("Dashboard aggregate reconcile failed, keeping current counters: ", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held. Builds every map before swapping any in, so a failed query keeps the old set
+    private void reloadCounters() {
+        long start = System.currentTimeMillis();
+        YearMonth firstMonth = YearMonth.now().minusMonths(MONTHS - 1);
+        LocalDateTime since = firstMonth.atDay(1).atStartOfDay();
+
+        Map<String, AtomicLong> tenderCounts = toCounts(tenderRepository.countByStatusGrouped());
+        Map<String, AtomicLong> bidCounts = toCounts(bidRepository.countByStatusGrouped());
+        Map<String, AtomicLong> bidderCounts = toCounts(bidderRepository.countByStatusGrouped());
+        Map<YearMonth, AtomicLong> tenderMonths = toMonths(tenderRepository.countCreatedPerMonthSince(since));
+        Map<YearMonth, AtomicLong> bidMonths = toMonths(bidRepository.countCreatedPerMonthSince(since));
+
+        tenderStatusCounts = tenderCounts;
+        bidStatusCounts = bidCounts;
+        bidderStatusCounts = bidderCounts;
+        tendersPerMonth = tenderMonths;
+        bidsPerMonth = bidMonths;
+        loaded = true;
+        logger.info("Dashboard aggregates loaded in {} ms", System.currentTimeMillis() - start);
+    }
+
+    // Write-path deltas take the reload's lock, so none lands on a map that is about to be replaced
+    private void update(Runnable delta) {
+        lock.lock();
+        try {
+            delta.run();
+            changed();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void changed() {
+        version.incrementAndGet();
+        recentDirty = true;
+        snapshot = null;
+    }
+
+    private DashboardResponse buildSnapshot() {
+        if (recentDirty) {
+            // Three LIMIT 5 index scans, only after a write touched the lists
+            recentDirty = false;
+            recentTenders = loadRecentTenders();
+            recentBids = loadRecentBids();
+            recentBidders = loadRecentBidders();
+        }
+
+        long openTenders = count(tenderStatusCounts, "OPEN");
+        long closedTenders = count(tenderStatusCounts, "CLOSED");
+        long pendingBids = count(bidStatusCounts, "PENDING");
+        long approvedBids = count(bidStatusCounts, "APPROVED") + count(bidStatusCounts, "WINNING");
+        long rejectedBids = count(bidStatusCounts, "REJECTED");
+        long activeBidders = count(bidderStatusCounts, "ACTIVE");
+        long inactiveBidders = count(bidderStatusCounts, "INACTIVE");
+
+        return new DashboardResponse(
+            "Dashboard loaded successfully",
+            null,
+            total(tenderStatusCounts),
+            openTenders,
+            closedTenders,
+            total(bidStatusCounts),
+            pendingBids,
+            approvedBids,
+            rejectedBids,
+            total(bidderStatusCounts),
+            activeBidders,
+            inactiveBidders,
+            statusData(tenderStatusCounts),
+            statusData(bidStatusCounts),
+            statusData(bidderStatusCounts),
+            monthlyData(tendersPerMonth),
+            monthlyData(bidsPerMonth),
+            recentTenders,
+            recentBids,
+            recentBidders
+        );
+    }
+
+    private List<DashboardResponse.TenderSummary> loadRecentTenders() {
+        List<DashboardResponse.TenderSummary> result = new ArrayList<>();
+        for (Tender tender : tenderRepository.findRecentTenders(PageRequest.of(0, RECENT_ITEMS))) {
+            result.add(new DashboardResponse.TenderSummary(
+                tender.getId(),
+                tender.getName(),
+                tender.getStatus(),
+                tender.getBudget() != null ? tender.getBudget().toString() : "N/A",
+                tender.getCreatedAt() != null ? tender.getCreatedAt().format(DATE_FORMATTER) : "N/A"
+            ));
+        }
+        return result;
+    }
+
+    private List<DashboardResponse.BidSummary> loadRecentBids() {
+        List<DashboardResponse.BidSummary> result = new ArrayList<>();
+        // Tender names come from the same query, no per-bid lookup
+        for (Object[] row : bidRepository.findRecentBidsWithTenderName(PageRequest.of(0, RECENT_ITEMS))) {
+            Bid bid = (Bid) row[0];
+            String tenderName = row[1] != null ? (String) row[1] : "Tender #" + bid.getTenderId();
+            result.add(new DashboardResponse.BidSummary(
+                bid.getId(),
+                bid.getTenderId(),
+                tenderName,
+                bid.getBidAmount() != null ? bid.getBidAmount().toString() : "N/A",
+                bid.getStatus(),
+                bid.getCreatedAt() != null ? bid.getCreatedAt().format(DATE_FORMATTER) : "N/A"
+            ));
+        }
+        return result;
+    }
+
+    private List<DashboardResponse.BidderSummary> loadRecentBidders() {
+        List<DashboardResponse.BidderSummary> result = new ArrayList<>();
+        for (Bidder bidder : bidderRepository.findRecentBidders(PageRequest.of(0, RECENT_ITEMS))) {
+            result.add(new DashboardResponse.BidderSummary(
+                bidder.getId(),
+                bidder.getCompanyName(),
+                bidder.getEmail(),
+                bidder.getStatus(),
+                bidder.getTotalBids() != null ? bidder.getTotalBids() : 0,
+                bidder.getCreatedAt() != null ? bidder.getCreatedAt().format(DATE_FORMATTER) : "N/A"
+            ));
+        }
+        return result;
+    }
+
+    private static List<DashboardResponse.StatusCount> statusData(Map<String, AtomicLong> counts) {
+        List<DashboardResponse.StatusCount> data = new ArrayList<>();
+        counts.forEach((status, count) -> {
+            if (count.get() > 0) {
+                data.add(new DashboardResponse.StatusCount(NO_STATUS.equals(status) ? null : status, count.get()));
+            }
+        });
+        return data;
+    }
+
+    // The last six calendar months, oldest first, including months with nothing created
+    private static List<DashboardResponse.MonthlyData> monthlyData(Map<YearMonth, AtomicLong> perMonth) {
+        List<DashboardResponse.MonthlyData> data = new ArrayList<>();
+        YearMonth month = YearMonth.now().minusMonths(MONTHS - 1);
+        for (int i = 0; i < MONTHS; i++, month = month.plusMonths(1)) {
+            AtomicLong count = perMonth.get(month);
+            data.add(new DashboardResponse.MonthlyData(
+                month.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH),
+                count != null ? count.get() : 0));
+        }
+        return data;
+    }
+
+    private static Map<String, AtomicLong> toCounts(List<Object[]> rows) {
+        Map<String, AtomicLong> counts = new ConcurrentHashMap<>();
+        for (Object[] row : rows) {
+            counts.put(statusKey((String) row[0]), new AtomicLong(((Number) row[1]).longValue()));
+        }
+        return counts;
+    }
+
+    private static Map<YearMonth, AtomicLong> toMonths(List<Object[]> rows) {
+        Map<YearMonth, AtomicLong> perMonth = new ConcurrentHashMap<>();
+        for (Object[] row : rows) {
+            YearMonth month = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+            perMonth.put(month, new AtomicLong(((Number) row[2]).longValue()));
+        }
+        return perMonth;
+    }
+
+    private static AtomicLong counts(Map<String, AtomicLong> counts, String status) {
+        return counts.computeIfAbsent(statusKey(status), k -> new AtomicLong());
+    }
+
+    private static void increment(Map<String, AtomicLong> counts, String status) {
+        counts(counts, status).incrementAndGet();
+    }
+
+    private static void decrement(Map<String, AtomicLong> counts, String status) {
+        AtomicLong count = counts.get(statusKey(status));
+        if (count != null) {
+            count.updateAndGet(c -> Math.max(0, c - 1));
+        }
+    }
+
+    private static void increment(Map<YearMonth, AtomicLong> perMonth, LocalDateTime createdAt) {
+        YearMonth month = createdAt != null ? YearMonth.from(createdAt) : YearMonth.now();
+        perMonth.computeIfAbsent(month, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static void decrement(Map<YearMonth, AtomicLong> perMonth, LocalDateTime createdAt) {
+        if (createdAt == null) {
+            return;
+        }
+        AtomicLong count = perMonth.get(YearMonth.from(createdAt));
+        if (count != null) {
+            count.updateAndGet(c -> Math.max(0, c - 1));
+        }
+    }
+
+    private static long count(Map<String, AtomicLong> counts, String status) {
+        AtomicLong count = counts.get(status);
+        return count != null ? count.get() : 0;
+    }
+
+    private static long total(Map<String, AtomicLong> counts) {
+        return counts.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    private static boolean sameStatus(String a, String b) {
+        return statusKey(a).equals(statusKey(b));
+    }
+
+    // ConcurrentHashMap does not take null keys
+    private static String statusKey(String status) {
+        return status != null ? status : NO_STATUS;
+    }
+}
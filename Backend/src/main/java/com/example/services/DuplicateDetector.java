@@ -5,9 +5,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.*;
 
 //  Service for detecting duplicate documents based on file content hashing
@@ -43,20 +46,28 @@ public class DuplicateDetector {
 
  
     private String calculateFileHash(MultipartFile file) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] fileBytes = file.getBytes();
-            byte[] hashBytes = md.digest(fileBytes);
-            
-            StringBuilder sb = new StringBuilder();
-            for (byte b : hashBytes) {
-                sb.append(String.format("%02x", b));
-            }
-            return sb.toString();
-        } catch (IOException | NoSuchAlgorithmException e) {
+        String hash = contentHash(file);
+        return hash != null ? hash : "hash_error_" + System.currentTimeMillis();
+    }
+
+    // MD5 of the file content as lowercase hex, or null if the file could not be read.
+    // The content is streamed through the digest rather than loaded with getBytes().
+    public String contentHash(MultipartFile file) {
+        try (InputStream in = new DigestInputStream(file.getInputStream(), MessageDigest.getInstance("MD5"))) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return toHex(((DigestInputStream) in).getMessageDigest().digest());
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
             logger.warn("Could not calculate hash: {}", e.getMessage());
-            return "hash_error_" + System.currentTimeMillis();
+            return null;
+        }
+    }
+
+    static String toHex(byte[] hashBytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : hashBytes) {
+            sb.append(String.format("%02x", b));
         }
+        return sb.toString();
     }
   
     public List<String> getDuplicateFileNames(MultipartFile[] files) {
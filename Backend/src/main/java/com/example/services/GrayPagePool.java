@@ -0,0 +1,161 @@
+package com.example.services;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.rendering.RenderDestination;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders PDF pages straight into 8-bit grayscale buffers that are reused across pages.
+ *
+ * The page is drawn at its final scale (capped at {@code maxDimension}) into a pooled TYPE_BYTE_GRAY image, so no
+ * RGB render, ARGB resize or grayscale conversion copy is made. The pixels are then copied once into a pooled
+ * direct buffer that Tesseract reads in place, instead of tess4j allocating a fresh direct buffer per page.
+ * Buffers are matched on exact size; most documents have one page size, so they are reused page after page.
+ */
+public class GrayPagePool {
+
+    private final int maxPooled;
+    private final Deque<PageBuffer> pooled = new ArrayDeque<>();
+
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong allocated = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+
+    public GrayPagePool(int maxPooled) {
+        this.maxPooled = Math.max(1, maxPooled);
+    }
+
+    /**
+     * Render one page at {@code dpi}, scaled down if either side would exceed {@code maxDimension} pixels.
+     * Release the buffer once OCR is done with it.
+     */
+    public PageBuffer render(PDFRenderer renderer, PDDocument document, int pageIndex, float dpi, int maxDimension)
+            throws IOException {
+        PDPage page = document.getPage(pageIndex);
+        PDRectangle cropBox = page.getCropBox();
+        float scale = dpi / 72f;
+        float longestSide = Math.max(cropBox.getWidth(), cropBox.getHeight());
+        if (longestSide * scale > maxDimension) {
+            scale = maxDimension / longestSide;
+        }
+
+        // Same pixel size as PDFRenderer.renderImage, including the swap for rotated pages
+        int width = (int) Math.max(Math.floor(cropBox.getWidth() * scale), 1);
+        int height = (int) Math.max(Math.floor(cropBox.getHeight() * scale), 1);
+        int rotation = page.getRotation();
+        if (rotation == 90 || rotation == 270) {
+            int swap = width;
+            width = height;
+            height = swap;
+        }
+
+        PageBuffer buffer = borrow(width, height);
+        Graphics2D g = buffer.image.createGraphics();
+        try {
+            g.setBackground(Color.WHITE);
+            g.clearRect(0, 0, width, height);
+            renderer.renderPageToGraphics(pageIndex, g, scale, scale, RenderDestination.EXPORT);
+        } catch (IOException | RuntimeException e) {
+            release(buffer);
+            throw e;
+        } finally {
+            g.dispose();
+        }
+        return buffer;
+    }
+
+    public void release(PageBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        synchronized (pooled) {
+            if (pooled.size() >= maxPooled) {
+                pooled.pollLast();
+            }
+            pooled.addFirst(buffer);
+        }
+    }
+
+    private PageBuffer borrow(int width, int height) {
+        synchronized (pooled) {
+            for (Iterator<PageBuffer> it = pooled.iterator(); it.hasNext(); ) {
+                PageBuffer candidate = it.next();
+                if (candidate.width == width && candidate.height == height) {
+                    it.remove();
+                    reused.incrementAndGet();
+                    return candidate;
+                }
+            }
+        }
+        allocated.incrementAndGet();
+        // Heap raster plus its direct copy
+        allocatedBytes.addAndGet(2L * width * height);
+        return new PageBuffer(width, height);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (pooled) {
+            stats.put("pooled", pooled.size());
+        }
+        stats.put("maxPooled", maxPooled);
+        stats.put("reused", reused.get());
+        stats.put("allocated", allocated.get());
+        stats.put("allocatedMb", allocatedBytes.get() / (1024 * 1024));
+        return stats;
+    }
+
+    public static final class PageBuffer {
+        private final int width;
+        private final int height;
+        private final BufferedImage image;
+        private final ByteBuffer direct;
+
+        private PageBuffer(int width, int height) {
+            this.width = width;
+            this.height = height;
+            this.image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+            this.direct = ByteBuffer.allocateDirect(width * height).order(ByteOrder.nativeOrder());
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public BufferedImage getImage() {
+            return image;
+        }
+
+        /**
+         * The rendered pixels, one byte per pixel with rows of exactly {@code width} bytes, ready for
+         * {@code Tesseract.doOCR(width, height, buffer, null, 8)}.
+         */
+        public ByteBuffer pixels() {
+            byte[] raster = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+            direct.clear();
+            direct.put(raster);
+            direct.flip();
+            return direct;
+        }
+    }
+}
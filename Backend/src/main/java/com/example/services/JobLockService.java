@@ -0,0 +1,86 @@
+package com.example.services;
+
+import com.example.repository.JobLockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Runs a scheduled job on at most one instance at a time, using a lease row in job_locks.
+ *
+ * A node takes the lease by moving locked_until forward, which only succeeds once the previous lease has run
+ * out. {@code lockAtMostFor} bounds how long a crashed node can hold the job; {@code lockAtLeastFor} keeps the
+ * lease after a fast run so a node whose clock is slightly behind does not start the same run again.
+ * Each run's start, duration and outcome are stored on the row for /api/admin/jobs.
+ */
+@Service
+public class JobLockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobLockService.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    private final String nodeId;
+
+    public JobLockService(@Value("${app.instance-id:}") String instanceId) {
+        // Defaults to pid@hostname
+        this.nodeId = instanceId == null || instanceId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName()
+                : instanceId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Run {@code task} if no other instance holds the lease for {@code jobName}.
+     *
+     * @return false if another instance holds the lease or the lease could not be taken
+     */
+    public boolean runExclusively(String jobName, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            jobLockRepository.insertIfAbsent(jobName);
+            if (jobLockRepository.tryAcquire(jobName, nodeId, startedAt, startedAt.plus(lockAtMostFor)) == 0) {
+                logger.debug("Skipping job {}: another instance holds the lease", jobName);
+                return false;
+            }
+        } catch (Exception e) {
+            logger.error("Could not take the lease for job {}, skipping this run: ", jobName, e);
+            return false;
+        }
+
+        long start = System.nanoTime();
+        String status = "SUCCESS";
+        String error = null;
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            status = "FAILED";
+            error = e.toString().length() > MAX_ERROR_LENGTH ? e.toString().substring(0, MAX_ERROR_LENGTH) : e.toString();
+            logger.error("Job {} failed: ", jobName, e);
+        } finally {
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            LocalDateTime finishedAt = LocalDateTime.now();
+            LocalDateTime heldAtLeastUntil = startedAt.plus(lockAtLeastFor);
+            LocalDateTime until = heldAtLeastUntil.isAfter(finishedAt) ? heldAtLeastUntil : finishedAt;
+            try {
+                jobLockRepository.release(jobName, nodeId, until, finishedAt, durationMs, status, error);
+            } catch (Exception e) {
+                // The lease still runs out at lockAtMostFor
+                logger.error("Could not record the run of job {}: ", jobName, e);
+            }
+            logger.debug("Job {} finished on {} in {} ms ({})", jobName, nodeId, durationMs, status);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.services;
+
+import com.example.dto.CursorPage;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (cursor) pagination over {@code (createdAt, id)}.
+ * Each page is read with {@code WHERE (created_at, id) < (cursor) ORDER BY created_at, id LIMIT size + 1},
+ * so the cost stays flat no matter how deep the client pages, unlike OFFSET.
+ * The cursor is an opaque base64 string of the last row's createdAt and id.
+ */
+public final class KeysetPaging {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private KeysetPaging() {
+    }
+
+    /**
+     * Position after which the next page starts.
+     */
+    public record Cursor(LocalDateTime createdAt, Long id) {
+    }
+
+    /**
+     * Everything a list endpoint needs besides its own filters. Invalid values throw IllegalArgumentException.
+     */
+    public record Request(Cursor after, int size, boolean ascending) {
+
+        public static Request of(String cursor, Integer size, String sort) {
+            return new Request(decode(cursor), clampSize(size), isAscending(sort));
+        }
+
+        Sort sort() {
+            Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+            return Sort.by(direction, "createdAt").and(Sort.by(direction, "id"));
+        }
+    }
+
+    static int clampSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be at least 1");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // "newest" (default) or "oldest"
+    static boolean isAscending(String sort) {
+        if (sort == null || sort.isBlank() || "newest".equalsIgnoreCase(sort)) {
+            return false;
+        }
+        if ("oldest".equalsIgnoreCase(sort)) {
+            return true;
+        }
+        throw new IllegalArgumentException("sort must be 'newest' or 'oldest'");
+    }
+
+    // created_at is NOT NULL in the schema; a null here would produce a cursor decode() rejects
+    static String encode(LocalDateTime createdAt, Long id) {
+        if (createdAt == null || id == null) {
+            throw new IllegalStateException("Cannot build a cursor from a row without createdAt/id");
+        }
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Adds the "comes after the cursor" condition to the entity's own filter predicates.
+     */
+    static <T> Predicate and(Root<T> root, CriteriaBuilder cb, List<Predicate> filters, Request request) {
+        List<Predicate> predicates = new ArrayList<>(filters);
+        Cursor after = request.after();
+        if (after != null) {
+            if (request.ascending()) {
+                predicates.add(cb.or(
+                        cb.greaterThan(root.get("createdAt"), after.createdAt()),
+                        cb.and(cb.equal(root.get("createdAt"), after.createdAt()),
+                               cb.greaterThan(root.get("id"), after.id()))));
+            } else {
+                predicates.add(cb.or(
+                        cb.lessThan(root.get("createdAt"), after.createdAt()),
+                        cb.and(cb.equal(root.get("createdAt"), after.createdAt()),
+                               cb.lessThan(root.get("id"), after.id()))));
+            }
+        }
+        return cb.and(predicates.toArray(new Predicate[0]));
+    }
+
+    /**
+     * Reads one page, fetching a single extra row to know whether another page exists (no COUNT query).
+     */
+    static <T> CursorPage<T> fetch(JpaSpecificationExecutor<T> repository, Specification<T> spec, Request request,
+                                   Function<T, LocalDateTime> createdAt, Function<T, Long> id) {
+        List<T> rows = repository.findBy(spec, q -> q.sortBy(request.sort()).limit(request.size() + 1).all());
+
+        boolean hasMore = rows.size() > request.size();
+        List<T> items = hasMore ? new ArrayList<>(rows.subList(0, request.size())) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            T last = items.get(items.size() - 1);
+            nextCursor = encode(createdAt.apply(last), id.apply(last));
+        }
+        return new CursorPage<>(items, nextCursor, hasMore, items.size());
+    }
+
+    // LIKE pattern for a case-insensitive "contains" search, with the wildcards in the term escaped
+    static String containsPattern(String term) {
+        String escaped = term.toLowerCase().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
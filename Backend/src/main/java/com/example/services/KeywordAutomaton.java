@@ -0,0 +1,193 @@
+package com.example.services;
+
+import java.util.*;
+
+/**
+ * Aho-Corasick automaton over a fixed set of lowercase keywords.
+ * One pass over a text reports every keyword that occurs in it as a substring,
+ * which is exactly what the validators used to check with repeated {@code String.contains} calls.
+ * Immutable after construction and safe to share between threads.
+ */
+public class KeywordAutomaton {
+
+    private final Map<String, Integer> keywordIds = new HashMap<>();
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final List<int[]> outputs = new ArrayList<>();
+    private int[] failure;
+
+    public KeywordAutomaton(Collection<String> keywords) {
+        transitions.add(new HashMap<>());
+        outputs.add(new int[0]);
+
+        for (String keyword : keywords) {
+            if (keyword == null || keyword.isEmpty()) {
+                continue;
+            }
+            String kw = keyword.toLowerCase();
+            if (keywordIds.containsKey(kw)) {
+                continue;
+            }
+            int id = keywordIds.size();
+            keywordIds.put(kw, id);
+            addKeyword(kw, id);
+        }
+        buildFailureLinks();
+    }
+
+    private void addKeyword(String kw, int id) {
+        int state = 0;
+        for (int i = 0; i < kw.length(); i++) {
+            char c = kw.charAt(i);
+            Integer next = transitions.get(state).get(c);
+            if (next == null) {
+                next = transitions.size();
+                transitions.add(new HashMap<>());
+                outputs.add(new int[0]);
+                transitions.get(state).put(c, next);
+            }
+            state = next;
+        }
+        outputs.set(state, append(outputs.get(state), id));
+    }
+
+    // Breadth-first: a state's failure link always points to a shallower state
+    private void buildFailureLinks() {
+        failure = new int[transitions.size()];
+        Deque<Integer> queue = new ArrayDeque<>();
+
+        for (int child : transitions.get(0).values()) {
+            failure[child] = 0;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(state).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+
+                int f = failure[state];
+                while (f != 0 && !transitions.get(f).containsKey(c)) {
+                    f = failure[f];
+                }
+                Integer target = transitions.get(f).get(c);
+                failure[child] = (target != null && target != child) ? target : 0;
+
+                // Keywords ending at the fallback state also end here
+                int[] inherited = outputs.get(failure[child]);
+                if (inherited.length > 0) {
+                    int[] merged = outputs.get(child);
+                    for (int id : inherited) {
+                        merged = append(merged, id);
+                    }
+                    outputs.set(child, merged);
+                }
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Scans {@code lowerText} (already lowercased) once and returns the set of keywords it contains.
+     */
+    public KeywordHits scan(String lowerText) {
+        BitSet found = new BitSet(keywordIds.size());
+        if (lowerText != null) {
+            int state = 0;
+            for (int i = 0; i < lowerText.length(); i++) {
+                char c = lowerText.charAt(i);
+                Integer next;
+                while ((next = transitions.get(state).get(c)) == null && state != 0) {
+                    state = failure[state];
+                }
+                state = next != null ? next : 0;
+                for (int id : outputs.get(state)) {
+                    found.set(id);
+                }
+            }
+        }
+        return new KeywordHits(this, lowerText != null ? lowerText : "", found);
+    }
+
+    int idOf(String lowerKeyword) {
+        Integer id = keywordIds.get(lowerKeyword);
+        return id != null ? id : -1;
+    }
+
+    public int size() {
+        return keywordIds.size();
+    }
+
+    private static int[] append(int[] ids, int id) {
+        for (int existing : ids) {
+            if (existing == id) {
+                return ids;
+            }
+        }
+        int[] out = Arrays.copyOf(ids, ids.length + 1);
+        out[ids.length] = id;
+        return out;
+    }
+
+    /**
+     * Keywords found in one text. Lookups for keywords that were not compiled into the
+     * automaton fall back to a plain substring check, so callers never get a wrong answer.
+     */
+    public static class KeywordHits {
+
+        private final KeywordAutomaton automaton;
+        private final String lowerText;
+        private final BitSet found;
+
+        KeywordHits(KeywordAutomaton automaton, String lowerText, BitSet found) {
+            this.automaton = automaton;
+            this.lowerText = lowerText;
+            this.found = found;
+        }
+
+        public boolean contains(String keyword) {
+            if (keyword == null || keyword.isEmpty()) {
+                return false;
+            }
+            String kw = keyword.toLowerCase();
+            int id = automaton.idOf(kw);
+            return id >= 0 ? found.get(id) : lowerText.contains(kw);
+        }
+
+        public boolean containsAny(Collection<String> keywords) {
+            return firstMatch(keywords) != null;
+        }
+
+        public String firstMatch(Collection<String> keywords) {
+            if (keywords == null) {
+                return null;
+            }
+            for (String kw : keywords) {
+                if (contains(kw)) {
+                    return kw;
+                }
+            }
+            return null;
+        }
+
+        public int count(Collection<String> keywords) {
+            int count = 0;
+            if (keywords != null) {
+                for (String kw : keywords) {
+                    if (contains(kw)) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+
+        public String getLowerText() {
+            return lowerText;
+        }
+
+        public int size() {
+            return found.cardinality();
+        }
+    }
+}
@@ -19,11 +19,17 @@ public class KeywordMatcher {
             Pattern.CASE_INSENSITIVE
     );
 
+    // PAN in the normalized (alphanumeric, uppercased) text, and as a standalone token in the original
+    private static final Pattern PAN_NORMALIZED_PATTERN = Pattern.compile("[A-Z]{5}[0-9]{4}[A-Z]");
+    private static final Pattern PAN_TOKEN_PATTERN = Pattern.compile("\\b[A-Za-z]{5}[0-9]{4}[A-Za-z]\\b");
+
     //  Aadhaar Pattern → 12 digits
     private static final Pattern AADHAAR_PATTERN = Pattern.compile(
             "\\b\\d{4}[\\s-]?\\d{4}[\\s-]?\\d{4}\\b"
     );
 
+    private static final Pattern AADHAAR_SEPARATORS = Pattern.compile("[\\s-]");
+
     //  GSTIN Pattern → 15 characters
     private static final Pattern GSTIN_PATTERN = Pattern.compile(
             "\\b\\d{2}[A-Z]{5}\\d{4}[A-Z][A-Z0-9][A-Z]\\d\\b"
@@ -51,6 +57,26 @@ public class KeywordMatcher {
     // Document-specific required fields - defines what fields MUST be present for each document type
     private static final Map<String, DocumentTemplate> DOCUMENT_TEMPLATES = new HashMap<>();
 
+    // Context phrases used by the PAN / Aadhaar / experience validators
+    private static final List<String> PAN_STRONG_CONTEXT = Arrays.asList(
+            "income tax department", "income tax", "permanent account number", "pan card"
+    );
+    private static final List<String> AADHAAR_STRONG_CONTEXT = Arrays.asList(
+            "uidai", "aadhaar", "aadhar", "unique identification"
+    );
+    private static final List<String> EMPLOYMENT_PHRASES = Arrays.asList(
+            "worked as", "has worked", "worked with", "employed as", "employment"
+    );
+    private static final List<String> DESIGNATION_PHRASES = Arrays.asList(
+            "designation", "position", "job title", "role"
+    );
+    private static final List<String> TENURE_PHRASES = Arrays.asList(
+            "joining", "relieving", "tenure", "period"
+    );
+
+    // Every keyword above plus all template field keywords, matched in one pass per document
+    private static final KeywordAutomaton KEYWORD_AUTOMATON;
+
     static {
         // Basic keywords
         DOCUMENT_KEYWORDS.put("PAN", Arrays.asList(
@@ -95,6 +121,23 @@ public class KeywordMatcher {
 
         // Initialize document templates with required fields
         initDocumentTemplates();
+
+        Set<String> allKeywords = new LinkedHashSet<>();
+        DOCUMENT_KEYWORDS.values().forEach(allKeywords::addAll);
+        for (DocumentTemplate template : DOCUMENT_TEMPLATES.values()) {
+            template.getRequiredFields().values().forEach(allKeywords::addAll);
+        }
+        allKeywords.addAll(PAN_STRONG_CONTEXT);
+        allKeywords.addAll(AADHAAR_STRONG_CONTEXT);
+        allKeywords.addAll(EMPLOYMENT_PHRASES);
+        allKeywords.addAll(DESIGNATION_PHRASES);
+        allKeywords.addAll(TENURE_PHRASES);
+        allKeywords.addAll(Arrays.asList("experience", "from", "to", "assessment year", "return of income", "itr"));
+        KEYWORD_AUTOMATON = new KeywordAutomaton(allKeywords);
+
+        // Whole-word matchers used to map required document names to types
+        CompiledRules.precompileWords(Arrays.asList("pan", "gst", "itr", "roc", "uid"));
+        logger.info("Keyword automaton compiled with {} keywords", KEYWORD_AUTOMATON.size());
     }
 
     /**
@@ -282,10 +325,101 @@ public class KeywordMatcher {
     }
 
     private boolean containsWord(String text, String word) {
-        if (text == null || word == null || word.isBlank()) return false;
-        return Pattern.compile("\\b" + Pattern.quote(word) + "\\b", Pattern.CASE_INSENSITIVE)
-                .matcher(text)
-                .find();
+        return CompiledRules.containsWord(text, word);
+    }
+
+    /**
+     * Scans the content once for every keyword known to the validators.
+     * Pass the result to the validator overloads to avoid rescanning the text per document type.
+     */
+    public KeywordAutomaton.KeywordHits findKeywords(String content) {
+        return KEYWORD_AUTOMATON.scan(content != null ? content.toLowerCase() : null);
+    }
+
+    /**
+     * Builds the shared analysis of one document: a single character pass produces the lowercase
+     * text, the alphanumeric normalized form and token offsets, then keywords and ID patterns are
+     * matched once each. Classify a file by passing the result to the validator overloads.
+     */
+    public AnalyzedDocument analyze(String content) {
+        if (content == null) {
+            return new AnalyzedDocument(null, "", "", new int[0], new int[0],
+                    KEYWORD_AUTOMATON.scan(""), null, null, null, null, null, false, new HashMap<>());
+        }
+
+        int length = content.length();
+        char[] lower = new char[length];
+        StringBuilder normalized = new StringBuilder(length);
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        int tokens = 0;
+        int tokenStart = -1;
+
+        for (int i = 0; i < length; i++) {
+            char c = content.charAt(i);
+            lower[i] = Character.toLowerCase(c);
+            boolean alnum = (c < 128) ? ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9'))
+                    : Character.isLetterOrDigit(c);
+            if (alnum) {
+                if (c < 128) {
+                    normalized.append(Character.toUpperCase(c));
+                }
+                if (tokenStart < 0) {
+                    tokenStart = i;
+                }
+            } else if (tokenStart >= 0) {
+                if (tokens == starts.length) {
+                    starts = Arrays.copyOf(starts, tokens * 2);
+                    ends = Arrays.copyOf(ends, tokens * 2);
+                }
+                starts[tokens] = tokenStart;
+                ends[tokens++] = i;
+                tokenStart = -1;
+            }
+        }
+        if (tokenStart >= 0) {
+            if (tokens == starts.length) {
+                starts = Arrays.copyOf(starts, tokens + 1);
+                ends = Arrays.copyOf(ends, tokens + 1);
+            }
+            starts[tokens] = tokenStart;
+            ends[tokens++] = length;
+        }
+
+        String lowerText = new String(lower);
+        String normalizedText = normalized.toString();
+
+        Matcher panNormalized = PAN_NORMALIZED_PATTERN.matcher(normalizedText);
+        Matcher panToken = PAN_TOKEN_PATTERN.matcher(content);
+        Matcher aadhaar = AADHAAR_PATTERN.matcher(content);
+        Matcher gstin = GSTIN_PATTERN.matcher(content);
+        Matcher cin = CIN_PATTERN.matcher(content);
+
+        Map<String, String> templateNumbers = new HashMap<>();
+        for (DocumentTemplate template : DOCUMENT_TEMPLATES.values()) {
+            if (template.getCompiledNumberPattern() != null) {
+                Matcher m = template.getCompiledNumberPattern().matcher(content);
+                if (m.find()) {
+                    templateNumbers.put(template.getDocumentType(), m.group());
+                }
+            }
+        }
+
+        return new AnalyzedDocument(
+                content,
+                lowerText,
+                normalizedText,
+                Arrays.copyOf(starts, tokens),
+                Arrays.copyOf(ends, tokens),
+                KEYWORD_AUTOMATON.scan(lowerText),
+                panNormalized.find() ? panNormalized.group() : null,
+                panToken.find() ? panToken.group().toUpperCase() : null,
+                aadhaar.find() ? AADHAAR_SEPARATORS.matcher(aadhaar.group()).replaceAll("") : null,
+                gstin.find() ? gstin.group() : null,
+                cin.find() ? cin.group().toUpperCase() : null,
+                DATE_PATTERN.matcher(content).find(),
+                templateNumbers
+        );
     }
 
     /**
@@ -293,31 +427,32 @@ public class KeywordMatcher {
      * Returns a map containing validation results for each required field
      */
     public DocumentValidationResult validateDocumentComprehensively(String documentType, String content) {
+        return validateDocumentComprehensively(documentType, analyze(content));
+    }
+
+    public DocumentValidationResult validateDocumentComprehensively(String documentType, AnalyzedDocument doc) {
         DocumentValidationResult result = new DocumentValidationResult();
         result.setValid(false);
         
-        if (content == null || content.isBlank()) {
+        if (doc.isBlank()) {
             result.setErrorMessage("No content to validate");
             return result;
         }
 
-        String contentLower = content.toLowerCase();
-        
         // Get the appropriate template
         DocumentTemplate template = getDocumentTemplate(documentType);
         if (template == null) {
             // Fallback to basic validation if no template found
-            return basicValidation(documentType, content);
+            return basicValidation(documentType, doc);
         }
         
         result.setDocumentType(template.getDocumentType());
         
         // Validate document number pattern first
         if (template.getNumberPattern() != null) {
-            Pattern pattern = Pattern.compile(template.getNumberPattern(), Pattern.CASE_INSENSITIVE);
-            Matcher matcher = pattern.matcher(content);
-            if (matcher.find()) {
-                result.setDocumentNumber(matcher.group());
+            String number = doc.getTemplateNumber(template.getDocumentType());
+            if (number != null) {
+                result.setDocumentNumber(number);
                 result.getValidatedFields().add("documentNumber");
                 logger.info("Document number validated: {}", result.getDocumentNumber());
             }
@@ -334,13 +469,7 @@ public class KeywordMatcher {
             // Skip documentNumber as it's validated separately with pattern
             if (fieldName.equals("documentNumber")) continue;
             
-            boolean fieldFound = false;
-            for (String keyword : fieldKeywords) {
-                if (contentLower.contains(keyword.toLowerCase())) {
-                    fieldFound = true;
-                    break;
-                }
-            }
+            boolean fieldFound = doc.getKeywordHits().containsAny(fieldKeywords);
             
             if (fieldFound) {
                 result.getValidatedFields().add(fieldName);
@@ -375,25 +504,18 @@ public class KeywordMatcher {
     /**
      * Fallback basic validation
      */
-    private DocumentValidationResult basicValidation(String documentType, String content) {
+    private DocumentValidationResult basicValidation(String documentType, AnalyzedDocument doc) {
         DocumentValidationResult result = new DocumentValidationResult();
         result.setDocumentType(documentType);
         
         List<String> keywords = getKeywordsForDocument(documentType);
         
         if (keywords.isEmpty()) {
-            result.setValid(content.length() > 10); // Basic length check
+            result.setValid(doc.length() > 10); // Basic length check
             return result;
         }
         
-        int matches = 0;
-        String contentLower = content.toLowerCase();
-        
-        for (String keyword : keywords) {
-            if (contentLower.contains(keyword.toLowerCase())) {
-                matches++;
-            }
-        }
+        int matches = doc.getKeywordHits().count(keywords);
         
         result.setValid(matches >= 2);
         result.setValidationScore(matches * 100.0 / keywords.size());
@@ -402,55 +524,31 @@ public class KeywordMatcher {
     }
 
     public String validatePanCardInContent(String content) {
+        return validatePanCardInContent(analyze(content));
+    }
 
-    if (content == null || content.isBlank())
-        return null;
+    public String validatePanCardInContent(AnalyzedDocument doc) {
 
-    logger.info("Validating PAN in content of length: {}", content.length());
+    if (doc.isBlank())
+        return null;
 
-    String contentLower = content.toLowerCase();
+    logger.info("Validating PAN in content of length: {}", doc.length());
+    KeywordAutomaton.KeywordHits hits = doc.getKeywordHits();
 
     // Strong PAN context keywords to reduce false-positives.
     // PAN number can appear in other documents (GST, ITR, etc.), so we don't accept the number alone.
-    List<String> strongPanContext = Arrays.asList(
-            "income tax department",
-            "income tax",
-            "permanent account number",
-            "pan card"
-    );
+    boolean hasStrongContext = hits.containsAny(PAN_STRONG_CONTEXT);
+    int keywordHits = hits.count(DOCUMENT_KEYWORDS.get("PAN"));
 
-    //  Normalize OCR text - remove special characters but keep letters and numbers
-    String normalized = content
-            .replaceAll("[^A-Za-z0-9]", "")   // remove spaces, :, -, etc.
-            .toUpperCase();
+    //  Normalized OCR text - special characters removed, letters and numbers kept
+    String normalized = doc.getNormalized();
 
     logger.debug("Normalized content: {}", normalized.substring(0, Math.min(100, normalized.length())));
 
     // Try to find PAN pattern: 5 letters + 4 digits + 1 letter
-    Pattern panPattern = Pattern.compile("[A-Z]{5}[0-9]{4}[A-Z]");
-    Matcher matcher = panPattern.matcher(normalized);
-
-    if (matcher.find()) {
-        String pan = matcher.group();
+    if (doc.getPanInNormalized() != null) {
+        String pan = doc.getPanInNormalized();
         // Require context to avoid validating PAN from unrelated documents.
-        boolean hasStrongContext = false;
-        for (String ctx : strongPanContext) {
-            if (contentLower.contains(ctx)) {
-                hasStrongContext = true;
-                break;
-            }
-        }
-
-        int keywordHits = 0;
-        List<String> panKeywords = DOCUMENT_KEYWORDS.get("PAN");
-        if (panKeywords != null) {
-            for (String kw : panKeywords) {
-                if (kw != null && !kw.isBlank() && contentLower.contains(kw.toLowerCase())) {
-                    keywordHits++;
-                }
-            }
-        }
-
         // Accept if strong context present OR at least 2 PAN keywords present.
         if (hasStrongContext || keywordHits >= 2) {
             logger.info("Valid PAN detected with context (hits={}, strongContext={}): {}", keywordHits, hasStrongContext, pan);
@@ -462,28 +560,8 @@ public class KeywordMatcher {
     }
 
     // Try case-insensitive search for PAN number in original content
-    Pattern panPatternCaseInsensitive = Pattern.compile("\\b[A-Za-z]{5}[0-9]{4}[A-Za-z]\\b");
-    Matcher matcher2 = panPatternCaseInsensitive.matcher(content);
-    if (matcher2.find()) {
-        String pan = matcher2.group().toUpperCase();
-        boolean hasStrongContext = false;
-        for (String ctx : strongPanContext) {
-            if (contentLower.contains(ctx)) {
-                hasStrongContext = true;
-                break;
-            }
-        }
-
-        int keywordHits = 0;
-        List<String> panKeywords = DOCUMENT_KEYWORDS.get("PAN");
-        if (panKeywords != null) {
-            for (String kw : panKeywords) {
-                if (kw != null && !kw.isBlank() && contentLower.contains(kw.toLowerCase())) {
-                    keywordHits++;
-                }
-            }
-        }
-
+    if (doc.getPanToken() != null) {
+        String pan = doc.getPanToken();
         if (hasStrongContext || keywordHits >= 2) {
             logger.info("Valid PAN detected with context (hits={}, strongContext={}): {}", keywordHits, hasStrongContext, pan);
             return pan;
@@ -495,22 +573,6 @@ public class KeywordMatcher {
 
     //  Fallback → keyword detection
     // Only accept keyword-only if there is strong context AND at least 2 PAN keywords.
-    int keywordHits = 0;
-    List<String> panKeywords = DOCUMENT_KEYWORDS.get("PAN");
-    if (panKeywords != null) {
-        for (String kw : panKeywords) {
-            if (kw != null && !kw.isBlank() && contentLower.contains(kw.toLowerCase())) {
-                keywordHits++;
-            }
-        }
-    }
-    boolean hasStrongContext = false;
-    for (String ctx : strongPanContext) {
-        if (contentLower.contains(ctx)) {
-            hasStrongContext = true;
-            break;
-        }
-    }
     if (hasStrongContext && keywordHits >= 2) {
         logger.info("⚠ PAN keywords detected with strong context but PAN number unclear (hits={})", keywordHits);
         return "PAN_KEYWORD_FOUND";
@@ -521,36 +583,21 @@ public class KeywordMatcher {
 }
 
     public String validateAadharCardInContent(String content) {
-        if (content == null) return null;
+        return validateAadharCardInContent(analyze(content));
+    }
 
-        String contentLower = content.toLowerCase();
+    public String validateAadharCardInContent(AnalyzedDocument doc) {
+        if (doc.getContent() == null) return null;
+        KeywordAutomaton.KeywordHits hits = doc.getKeywordHits();
 
         // Aadhaar numbers (12 digits) can appear in other contexts; require Aadhaar context.
-        // Strong context keywords
-        List<String> strongAadhaarContext = Arrays.asList("uidai", "aadhaar", "aadhar", "unique identification");
-
-        boolean hasContext = false;
-        for (String ctx : strongAadhaarContext) {
-            if (contentLower.contains(ctx)) {
-                hasContext = true;
-                break;
-            }
-        }
+        boolean hasContext = hits.containsAny(AADHAAR_STRONG_CONTEXT);
 
         // Count keyword hits
-        int keywordHits = 0;
-        List<String> aadhaarKeywords = DOCUMENT_KEYWORDS.get("AADHAAR");
-        if (aadhaarKeywords != null) {
-            for (String kw : aadhaarKeywords) {
-                if (kw != null && !kw.isBlank() && contentLower.contains(kw.toLowerCase())) {
-                    keywordHits++;
-                }
-            }
-        }
+        int keywordHits = hits.count(DOCUMENT_KEYWORDS.get("AADHAAR"));
 
-        Matcher matcher = AADHAAR_PATTERN.matcher(content);
-        if (matcher.find()) {
-            String aadhaar = matcher.group().replaceAll("[\\s-]", "");
+        if (doc.getAadhaarNumber() != null) {
+            String aadhaar = doc.getAadhaarNumber();
 
             // Accept only if context present OR multiple Aadhaar keywords present
             if (hasContext || keywordHits >= 2) {
@@ -572,53 +619,61 @@ public class KeywordMatcher {
     }
 
     public String validateGSTInContent(String content) {
-        if (content == null) return null;
+        return validateGSTInContent(analyze(content));
+    }
+
+    public String validateGSTInContent(AnalyzedDocument doc) {
+        if (doc.getContent() == null) return null;
 
-        Matcher matcher = GSTIN_PATTERN.matcher(content);
-        if (matcher.find()) {
-            String gstin = matcher.group();
+        if (doc.getGstin() != null) {
+            String gstin = doc.getGstin();
             logger.info("Valid GSTIN detected: {}", gstin);
             return gstin;
         }
 
-        return containsKeyword(content, DOCUMENT_KEYWORDS.get("GST"))
+        return containsKeyword(doc.getKeywordHits(), DOCUMENT_KEYWORDS.get("GST"))
                 ? "GST_KEYWORD_FOUND"
                 : null;
     }
 
     public String validateIncomeTaxInContent(String content) {
-        if (content == null) return null;
+        return validateIncomeTaxInContent(analyze(content));
+    }
 
-        return containsKeyword(content, DOCUMENT_KEYWORDS.get("INCOME_TAX"))
+    public String validateIncomeTaxInContent(AnalyzedDocument doc) {
+        if (doc.getContent() == null) return null;
+
+        return containsKeyword(doc.getKeywordHits(), DOCUMENT_KEYWORDS.get("INCOME_TAX"))
                 ? "INCOME_TAX_FOUND"
                 : null;
     }
 
     public String validateExperienceCertificateInContent(String content) {
-        if (content == null || content.isBlank()) return null;
+        return validateExperienceCertificateInContent(analyze(content));
+    }
+
+    public String validateExperienceCertificateInContent(AnalyzedDocument doc) {
+        if (doc.isBlank()) return null;
+        KeywordAutomaton.KeywordHits hits = doc.getKeywordHits();
 
         // First try explicit experience keywords (fast path)
-        if (containsKeyword(content, DOCUMENT_KEYWORDS.get("EXPERIENCE"))) {
+        if (containsKeyword(hits, DOCUMENT_KEYWORDS.get("EXPERIENCE"))) {
             return "EXPERIENCE_FOUND";
         }
 
         // OCR can miss "experience certificate" but still include strong employment phrasing.
-        String lower = content.toLowerCase();
-
         int evidence = 0;
-        boolean hasDate = DATE_PATTERN.matcher(content).find();
-
-        if (lower.contains("experience")) evidence += 2;
-        if (lower.contains("worked as") || lower.contains("has worked") || lower.contains("worked with")
-                || lower.contains("employed as") || lower.contains("employment")) evidence += 1;
-        if (lower.contains("designation") || lower.contains("position") || lower.contains("job title")
-                || lower.contains("role")) evidence += 1;
-        if ((lower.contains("from") && lower.contains("to")) || lower.contains("joining")
-                || lower.contains("relieving") || lower.contains("tenure") || lower.contains("period")) evidence += 1;
+        boolean hasDate = doc.hasDate();
+        boolean hasExperience = hits.contains("experience");
+
+        if (hasExperience) evidence += 2;
+        if (hits.containsAny(EMPLOYMENT_PHRASES)) evidence += 1;
+        if (hits.containsAny(DESIGNATION_PHRASES)) evidence += 1;
+        if ((hits.contains("from") && hits.contains("to")) || hits.containsAny(TENURE_PHRASES)) evidence += 1;
         if (hasDate) evidence += 1;
 
         // Accept if we have enough employment signals; require a date unless "experience" is present.
-        if (evidence >= 3 && (hasDate || lower.contains("experience"))) {
+        if (evidence >= 3 && (hasDate || hasExperience)) {
             return "EXPERIENCE_FOUND";
         }
 
@@ -626,25 +681,32 @@ public class KeywordMatcher {
     }
 
     public String validateCompanyRegistrationInContent(String content) {
-        if (content == null) return null;
+        return validateCompanyRegistrationInContent(analyze(content));
+    }
+
+    public String validateCompanyRegistrationInContent(AnalyzedDocument doc) {
+        if (doc.getContent() == null) return null;
 
         // Prefer CIN match (more reliable)
-        Matcher cinMatcher = CIN_PATTERN.matcher(content);
-        if (cinMatcher.find()) {
-            String cin = cinMatcher.group().toUpperCase();
+        if (doc.getCin() != null) {
+            String cin = doc.getCin();
             logger.info("Valid CIN detected: {}", cin);
             return cin;
         }
 
-        return containsKeyword(content, DOCUMENT_KEYWORDS.get("COMPANY_REG"))
+        return containsKeyword(doc.getKeywordHits(), DOCUMENT_KEYWORDS.get("COMPANY_REG"))
                 ? "COMPANY_REG_FOUND"
                 : null;
     }
 
     public String validateInsuranceInContent(String content) {
-        if (content == null) return null;
+        return validateInsuranceInContent(analyze(content));
+    }
+
+    public String validateInsuranceInContent(AnalyzedDocument doc) {
+        if (doc.getContent() == null) return null;
 
-        return containsKeyword(content, DOCUMENT_KEYWORDS.get("INSURANCE"))
+        return containsKeyword(doc.getKeywordHits(), DOCUMENT_KEYWORDS.get("INSURANCE"))
                 ? "INSURANCE_FOUND"
                 : null;
     }
@@ -654,17 +716,20 @@ public class KeywordMatcher {
      * Requires at least 2 keyword matches for proper validation
      */
     public boolean checkContentMatch(String requiredDoc, List<String> keywords, String fileName, String content) {
-        if (content == null || content.isEmpty()) return false;
+        return checkContentMatch(requiredDoc, keywords, fileName, analyze(content));
+    }
+
+    public boolean checkContentMatch(String requiredDoc, List<String> keywords, String fileName, AnalyzedDocument doc) {
+        if (doc.getContent() == null || doc.getContent().isEmpty()) return false;
+        KeywordAutomaton.KeywordHits hits = doc.getKeywordHits();
         
         // If no keywords, check document name in content
         if (keywords == null || keywords.isEmpty()) {
-            return content.toLowerCase().contains(requiredDoc.toLowerCase());
+            return hits.contains(requiredDoc);
         }
         
-        String contentLower = content.toLowerCase();
-
         // If required document name itself is present, consider it a match
-        if (requiredDoc != null && !requiredDoc.isBlank() && contentLower.contains(requiredDoc.toLowerCase())) {
+        if (requiredDoc != null && !requiredDoc.isBlank() && hits.contains(requiredDoc)) {
             return true;
         }
 
@@ -673,7 +738,7 @@ public class KeywordMatcher {
             if (keyword == null) continue;
             String kw = keyword.toLowerCase().trim();
             if (kw.isEmpty()) continue;
-            if (contentLower.contains(kw)) {
+            if (hits.contains(kw)) {
                 matches++;
             }
         }
@@ -685,16 +750,11 @@ public class KeywordMatcher {
         return matches >= threshold;
     }
 
-    private boolean containsKeyword(String content, List<String> keywords) {
-        if (content == null || keywords == null) return false;
-
-        String lower = content.toLowerCase();
-
-        for (String kw : keywords) {
-            if (lower.contains(kw.toLowerCase())) {
-                logger.info("Keyword '{}' detected", kw);
-                return true;
-            }
+    private boolean containsKeyword(KeywordAutomaton.KeywordHits hits, List<String> keywords) {
+        String kw = hits.firstMatch(keywords);
+        if (kw != null) {
+            logger.info("Keyword '{}' detected", kw);
+            return true;
         }
         return false;
     }
@@ -706,6 +766,7 @@ public class KeywordMatcher {
         private String documentType;
         private Map<String, List<String>> requiredFields = new HashMap<>();
         private String numberPattern;
+        private Pattern compiledNumberPattern;
 
         public DocumentTemplate(String documentType) {
             this.documentType = documentType;
@@ -718,7 +779,11 @@ public class KeywordMatcher {
         public String getDocumentType() { return documentType; }
         public Map<String, List<String>> getRequiredFields() { return requiredFields; }
         public String getNumberPattern() { return numberPattern; }
-        public void setNumberPattern(String pattern) { this.numberPattern = pattern; }
+        public void setNumberPattern(String pattern) {
+            this.numberPattern = pattern;
+            this.compiledNumberPattern = pattern != null ? CompiledRules.pattern(pattern, Pattern.CASE_INSENSITIVE) : null;
+        }
+        public Pattern getCompiledNumberPattern() { return compiledNumberPattern; }
     }
 
     /**
@@ -0,0 +1,92 @@
+package com.example.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts failed logins per username and per client IP. Once either count reaches its limit, further attempts are
+ * refused before any password is hashed until the window has passed since the last failure.
+ * Counters are in memory, so each instance throttles on its own.
+ */
+@Service
+public class LoginThrottle {
+
+    private final Cache<String, Integer> userFailures;
+    private final Cache<String, Integer> ipFailures;
+    private final int maxUserFailures;
+    private final int maxIpFailures;
+    private final Duration window;
+    private final AtomicLong throttled = new AtomicLong();
+
+    public LoginThrottle(@Value("${auth.throttle.max-failures-per-user:5}") int maxUserFailures,
+                         @Value("${auth.throttle.max-failures-per-ip:20}") int maxIpFailures,
+                         @Value("${auth.throttle.window-seconds:900}") long windowSeconds,
+                         @Value("${auth.throttle.max-tracked:100000}") long maxTracked) {
+        this.maxUserFailures = maxUserFailures;
+        this.maxIpFailures = maxIpFailures;
+        this.window = Duration.ofSeconds(windowSeconds);
+        // Every failure rewrites the entry, so the window runs from the last failure
+        this.userFailures = Caffeine.newBuilder().maximumSize(maxTracked).expireAfterWrite(window).build();
+        this.ipFailures = Caffeine.newBuilder().maximumSize(maxTracked).expireAfterWrite(window).build();
+    }
+
+    /**
+     * Seconds until this username and IP may try again, or 0 if the attempt is allowed.
+     */
+    public long retryAfterSeconds(String username, String ip) {
+        long retryAfter = Math.max(retryAfter(userFailures, username, maxUserFailures),
+                retryAfter(ipFailures, ip, maxIpFailures));
+        if (retryAfter > 0) {
+            throttled.incrementAndGet();
+        }
+        return retryAfter;
+    }
+
+    public void recordFailure(String username, String ip) {
+        if (username != null) {
+            userFailures.asMap().merge(username, 1, Integer::sum);
+        }
+        if (ip != null) {
+            ipFailures.asMap().merge(ip, 1, Integer::sum);
+        }
+    }
+
+    // A correct password clears the username's count; the IP's count stays so one good account cannot reset it
+    public void recordSuccess(String username) {
+        if (username != null) {
+            userFailures.invalidate(username);
+        }
+    }
+
+    private long retryAfter(Cache<String, Integer> failures, String key, int limit) {
+        if (key == null) {
+            return 0;
+        }
+        Integer count = failures.getIfPresent(key);
+        if (count == null || count < limit) {
+            return 0;
+        }
+        Duration age = failures.policy().expireAfterWrite()
+                .flatMap(expiry -> expiry.ageOf(key))
+                .orElse(Duration.ZERO);
+        return Math.max(1, window.minus(age).toSeconds());
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedUsernames", userFailures.estimatedSize());
+        stats.put("trackedIps", ipFailures.estimatedSize());
+        stats.put("throttledAttempts", throttled.get());
+        stats.put("maxFailuresPerUser", maxUserFailures);
+        stats.put("maxFailuresPerIp", maxIpFailures);
+        stats.put("windowSeconds", window.toSeconds());
+        return stats;
+    }
+}
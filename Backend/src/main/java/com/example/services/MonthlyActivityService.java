@@ -0,0 +1,135 @@
+package com.example.services;
+
+import com.example.dto.MonthlyActivityPoint;
+import com.example.entity.MonthlyActivity;
+import com.example.repository.MonthlyActivityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the monthly_activity rollup and serves month ranges from it.
+ *
+ * Every run re-aggregates the previous and current month, which is where new rows land; a nightly run
+ * rebuilds the whole history to pick up deletes and backdated rows.
+ */
+@Service
+public class MonthlyActivityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyActivityService.class);
+    public static final int DEFAULT_MONTHS = 12;
+    public static final int MAX_MONTHS = 120;
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private MonthlyActivityRepository monthlyActivityRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Scheduled(initialDelayString = "${dashboard.rollup.initial-delay-ms:30000}",
+               fixedDelayString = "${dashboard.rollup.interval-ms:900000}")
+    public void rollupRecentMonths() {
+        runExclusively(() -> {
+            if (monthlyActivityRepository.count() == 0) {
+                // First run against an existing database: backfill everything once
+                rollupFrom(BEGINNING);
+            } else {
+                rollupFrom(YearMonth.now().minusMonths(1).atDay(1).atStartOfDay());
+            }
+        });
+    }
+
+    @Scheduled(cron = "${dashboard.rollup.rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        runExclusively(() -> rollupFrom(BEGINNING));
+    }
+
+    // Both runs rewrite monthly_activity, so they share one lease: one at a time across all instances
+    private void runExclusively(Runnable rollup) {
+        jobLockService.runExclusively("monthlyActivityRollup", Duration.ofMinutes(30), Duration.ofMinutes(1), rollup);
+    }
+
+    public void rollupFrom(LocalDateTime since) {
+        long start = System.currentTimeMillis();
+        // Delete and re-insert in one transaction; readers keep seeing the previous rows until it commits
+        Integer months = transactionTemplate.execute(status -> {
+            monthlyActivityRepository.deleteFromMonth(since.toLocalDate().withDayOfMonth(1));
+            return monthlyActivityRepository.insertRollupSince(since);
+        });
+        logger.info("Rolled up {} month(s) of activity since {} in {} ms",
+                months, since.toLocalDate(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Months {@code from}..{@code to} inclusive, oldest first, with zeros for months without activity.
+     * Defaults to the last {@value #DEFAULT_MONTHS} months ending with the current one.
+     *
+     * @throws IllegalArgumentException for unparseable months, a reversed range or more than {@value #MAX_MONTHS} months
+     */
+    public Map<String, Object> getSeries(String fromParam, String toParam, Integer monthsParam) {
+        YearMonth to = toParam != null ? parseMonth(toParam) : YearMonth.now();
+        YearMonth from;
+        if (fromParam != null) {
+            from = parseMonth(fromParam);
+        } else {
+            int months = monthsParam != null ? monthsParam : DEFAULT_MONTHS;
+            if (months < 1 || months > MAX_MONTHS) {
+                throw new IllegalArgumentException("months must be between 1 and " + MAX_MONTHS);
+            }
+            from = to.minusMonths(months - 1);
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (from.plusMonths(MAX_MONTHS - 1).isBefore(to)) {
+            throw new IllegalArgumentException("Range is limited to " + MAX_MONTHS + " months");
+        }
+
+        Map<YearMonth, MonthlyActivity> rows = new HashMap<>();
+        for (MonthlyActivity row : monthlyActivityRepository.findByMonthBetweenOrderByMonthAsc(from.atDay(1), to.atDay(1))) {
+            rows.put(YearMonth.from(row.getMonth()), row);
+        }
+
+        List<MonthlyActivityPoint> series = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            MonthlyActivity row = rows.get(month);
+            series.add(row != null
+                    ? new MonthlyActivityPoint(month.toString(), row.getTendersCreated(), row.getBidsCreated(), row.getBidAmountTotal())
+                    : new MonthlyActivityPoint(month.toString(), 0, 0, BigDecimal.ZERO));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("from", from.toString());
+        response.put("to", to.toString());
+        response.put("series", series);
+        // The current month is as fresh as the last rollup run
+        response.put("rolledUpAt", monthlyActivityRepository.findLastRollupTime());
+        return response;
+    }
+
+    private static YearMonth parseMonth(String value) {
+        try {
+            return YearMonth.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid month '" + value + "', expected yyyy-MM");
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits documents to OCR against a global budget of pages and rendered-image memory.
+ *
+ * A document reserves its page count and the memory of the page images its workers can hold at once, and gives
+ * both back when it finishes. Documents that do not fit wait in a bounded queue ordered by file size, smallest
+ * first; the head of the queue is admitted as soon as it fits, and nothing overtakes it. When the queue is full
+ * or a wait runs out, {@link OcrOverloadedException} carries a Retry-After estimate from the recent per-page time.
+ * A document larger than the whole budget is still admitted when nothing else is in flight.
+ */
+@Service
+public class OcrAdmissionController {
+
+    private final int maxPages;
+    private final long maxMemoryBytes;
+    private final int queueCapacity;
+    private final long maxWaitMs;
+    private final int engines;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final PriorityQueue<Waiter> waiting = new PriorityQueue<>(
+            Comparator.comparingLong((Waiter w) -> w.fileSize).thenComparingLong(w -> w.seq));
+
+    // Guarded by lock
+    private long seq;
+    private int documentsInFlight;
+    private int pagesInFlight;
+    private long memoryInFlight;
+    private long queuedPages;
+    private long admitted;
+    private long rejected;
+    private long timedOut;
+    private double avgMsPerPage = 1000;
+
+    public OcrAdmissionController(@Value("${ocr.admission.max-pages:400}") int maxPages,
+                                  @Value("${ocr.admission.max-memory-mb:512}") long maxMemoryMb,
+                                  @Value("${ocr.admission.queue-capacity:16}") int queueCapacity,
+                                  @Value("${ocr.admission.max-wait-ms:30000}") long maxWaitMs,
+                                  @Value("${ocr.engine-pool-size:4}") int engines) {
+        this.maxPages = Math.max(1, maxPages);
+        this.maxMemoryBytes = Math.max(1, maxMemoryMb) * 1024 * 1024;
+        this.queueCapacity = Math.max(0, queueCapacity);
+        this.maxWaitMs = maxWaitMs;
+        this.engines = Math.max(1, engines);
+    }
+
+    /**
+     * Block until the document fits the budget and its turn comes. Close the permit when OCR is done.
+     *
+     * @throws OcrOverloadedException if the queue is full or the wait exceeds ocr.admission.max-wait-ms
+     * @throws CancellationException  if the thread is interrupted while waiting
+     */
+    public Permit acquire(long fileSize, int pages, long memoryBytes) {
+        lock.lock();
+        try {
+            Waiter waiter = new Waiter(fileSize, Math.max(1, pages), memoryBytes, seq++);
+            if (waiting.isEmpty() && fits(waiter)) {
+                return admit(waiter);
+            }
+            if (waiting.size() >= queueCapacity) {
+                rejected++;
+                throw new OcrOverloadedException("OCR is at capacity, please retry later", retryAfterSeconds(waiter.pages));
+            }
+
+            waiting.add(waiter);
+            queuedPages += waiter.pages;
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+            try {
+                while (waiting.peek() != waiter || !fits(waiter)) {
+                    if (remainingNanos <= 0) {
+                        timedOut++;
+                        throw new OcrOverloadedException("Timed out waiting for OCR capacity, please retry later",
+                                retryAfterSeconds(0));
+                    }
+                    remainingNanos = released.awaitNanos(remainingNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for OCR capacity");
+            } finally {
+                // Whether admitted or given up, this waiter leaves the queue and the next head may now fit
+                waiting.remove(waiter);
+                queuedPages -= waiter.pages;
+                released.signalAll();
+            }
+            return admit(waiter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean fits(Waiter waiter) {
+        return documentsInFlight == 0
+                || (pagesInFlight + waiter.pages <= maxPages && memoryInFlight + waiter.memoryBytes <= maxMemoryBytes);
+    }
+
+    private Permit admit(Waiter waiter) {
+        documentsInFlight++;
+        pagesInFlight += waiter.pages;
+        memoryInFlight += waiter.memoryBytes;
+        admitted++;
+        return new Permit(waiter);
+    }
+
+    private void release(Waiter waiter, long elapsedNanos) {
+        lock.lock();
+        try {
+            documentsInFlight--;
+            pagesInFlight -= waiter.pages;
+            memoryInFlight -= waiter.memoryBytes;
+            // Moving average of wall time per page, used for the Retry-After estimate
+            double msPerPage = TimeUnit.NANOSECONDS.toMillis(elapsedNanos) / (double) waiter.pages;
+            avgMsPerPage = 0.8 * avgMsPerPage + 0.2 * msPerPage;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Time for the engines to work through what is in flight and queued ahead, in seconds (1 to 600)
+    private long retryAfterSeconds(int extraPages) {
+        double pages = pagesInFlight + queuedPages + extraPages;
+        long seconds = (long) Math.ceil(pages * avgMsPerPage / engines / 1000.0);
+        return Math.max(1, Math.min(600, seconds));
+    }
+
+    public Map<String, Object> getStats() {
+        lock.lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("documentsInFlight", documentsInFlight);
+            stats.put("pagesInFlight", pagesInFlight);
+            stats.put("maxPages", maxPages);
+            stats.put("memoryInFlightMb", memoryInFlight / (1024 * 1024));
+            stats.put("maxMemoryMb", maxMemoryBytes / (1024 * 1024));
+            stats.put("queueDepth", waiting.size());
+            stats.put("queuedPages", queuedPages);
+            stats.put("queueCapacity", queueCapacity);
+            stats.put("admitted", admitted);
+            stats.put("rejected", rejected);
+            stats.put("timedOut", timedOut);
+            stats.put("avgMsPerPage", Math.round(avgMsPerPage));
+            stats.put("retryAfterSeconds", retryAfterSeconds(0));
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public final class Permit implements AutoCloseable {
+        private final Waiter waiter;
+        private final long startNanos = System.nanoTime();
+        private boolean closed;
+
+        private Permit(Waiter waiter) {
+            this.waiter = waiter;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(waiter, System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    private record Waiter(long fileSize, int pages, long memoryBytes, long seq) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.services;
+
+/**
+ * Thrown when OCR admission refuses a document because the wait queue is full or the wait ran out.
+ * Controllers answer 429 with {@link #getRetryAfterSeconds()} as Retry-After.
+ */
+public class OcrOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public OcrOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
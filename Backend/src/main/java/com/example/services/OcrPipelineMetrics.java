@@ -0,0 +1,93 @@
+package com.example.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time spent in each stage of the render -> OCR pipeline. One instance per document is logged when the document
+ * finishes and then added to the service-wide totals.
+ *
+ * Backpressure is render time blocked on a full queue (OCR is the bottleneck); OCR idle is worker time waiting on
+ * an empty queue (rendering is the bottleneck).
+ */
+public class OcrPipelineMetrics {
+
+    private final LongAdder documents = new LongAdder();
+    private final LongAdder textLayerPages = new LongAdder();
+    private final LongAdder renderedPages = new LongAdder();
+    private final LongAdder ocrPages = new LongAdder();
+    private final LongAdder textLayerNanos = new LongAdder();
+    private final LongAdder renderNanos = new LongAdder();
+    private final LongAdder backpressureNanos = new LongAdder();
+    private final LongAdder ocrIdleNanos = new LongAdder();
+    private final LongAdder ocrNanos = new LongAdder();
+
+    void textLayer(long nanos, boolean usable) {
+        textLayerNanos.add(nanos);
+        if (usable) {
+            textLayerPages.increment();
+        }
+    }
+
+    void rendered(long nanos) {
+        renderNanos.add(nanos);
+        renderedPages.increment();
+    }
+
+    void backpressure(long nanos) {
+        backpressureNanos.add(nanos);
+    }
+
+    void ocrIdle(long nanos) {
+        ocrIdleNanos.add(nanos);
+    }
+
+    void ocr(long nanos) {
+        ocrNanos.add(nanos);
+        ocrPages.increment();
+    }
+
+    long getTextLayerPages() {
+        return textLayerPages.sum();
+    }
+
+    void add(OcrPipelineMetrics document) {
+        documents.increment();
+        textLayerPages.add(document.textLayerPages.sum());
+        renderedPages.add(document.renderedPages.sum());
+        ocrPages.add(document.ocrPages.sum());
+        textLayerNanos.add(document.textLayerNanos.sum());
+        renderNanos.add(document.renderNanos.sum());
+        backpressureNanos.add(document.backpressureNanos.sum());
+        ocrIdleNanos.add(document.ocrIdleNanos.sum());
+        ocrNanos.add(document.ocrNanos.sum());
+    }
+
+    String summary() {
+        return String.format("text layer %d ms, render %d ms (%d pages, blocked %d ms), OCR %d ms (%d pages, idle %d ms)",
+                ms(textLayerNanos), ms(renderNanos), renderedPages.sum(), ms(backpressureNanos),
+                ms(ocrNanos), ocrPages.sum(), ms(ocrIdleNanos));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("documents", documents.sum());
+        stats.put("textLayerPages", textLayerPages.sum());
+        stats.put("renderedPages", renderedPages.sum());
+        stats.put("ocrPages", ocrPages.sum());
+        stats.put("textLayerMs", ms(textLayerNanos));
+        stats.put("renderMs", ms(renderNanos));
+        stats.put("renderBlockedMs", ms(backpressureNanos));
+        stats.put("ocrMs", ms(ocrNanos));
+        stats.put("ocrIdleMs", ms(ocrIdleNanos));
+        stats.put("avgRenderMsPerPage", renderedPages.sum() == 0 ? 0 : ms(renderNanos) / renderedPages.sum());
+        stats.put("avgOcrMsPerPage", ocrPages.sum() == 0 ? 0 : ms(ocrNanos) / ocrPages.sum());
+        return stats;
+    }
+
+    private static long ms(LongAdder nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos.sum());
+    }
+}
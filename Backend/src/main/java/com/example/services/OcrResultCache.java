@@ -0,0 +1,206 @@
+package com.example.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Persistent cache of extracted document text, keyed by the content hash of the uploaded file.
+ * Entries are plain text files on local disk; when the total size exceeds the configured limit
+ * the least recently used entries are deleted.
+ */
+@Service
+public class OcrResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(OcrResultCache.class);
+    private static final String ENTRY_SUFFIX = ".txt";
+    private static final Pattern HEX_KEY = Pattern.compile("[0-9a-f]{32,128}");
+
+    private final boolean enabled;
+    private final Path cacheDir;
+    private final long maxBytes;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    // Eviction deletes files; a lock keeps a waiting virtual thread from pinning its carrier
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public OcrResultCache(@Value("${ocr.cache.enabled:true}") boolean enabled,
+                          @Value("${ocr.cache.dir:./ocr-cache}") String cacheDir,
+                          @Value("${ocr.cache.max-size-mb:256}") long maxSizeMb) {
+        this.enabled = enabled;
+        this.cacheDir = Paths.get(cacheDir);
+        this.maxBytes = maxSizeMb * 1024 * 1024;
+
+        if (enabled) {
+            loadIndex();
+        }
+    }
+
+    // Rebuild the in-memory index from the entries already on disk
+    private void loadIndex() {
+        try {
+            Files.createDirectories(cacheDir);
+            try (Stream<Path> files = Files.list(cacheDir)) {
+                files.filter(p -> p.getFileName().toString().endsWith(ENTRY_SUFFIX)).forEach(p -> {
+                    try {
+                        String name = p.getFileName().toString();
+                        String hash = name.substring(0, name.length() - ENTRY_SUFFIX.length());
+                        long size = Files.size(p);
+                        entries.put(hash, new Entry(size, Files.getLastModifiedTime(p).toMillis()));
+                        totalBytes.addAndGet(size);
+                    } catch (IOException e) {
+                        logger.warn("Skipping unreadable OCR cache entry {}: {}", p, e.getMessage());
+                    }
+                });
+            }
+            logger.info("OCR result cache at {} loaded with {} entries ({} KB)",
+                    cacheDir.toAbsolutePath(), entries.size(), totalBytes.get() / 1024);
+        } catch (IOException e) {
+            logger.error("Could not initialize OCR result cache at {}: {}", cacheDir, e.getMessage());
+        }
+    }
+
+    public String get(String contentHash) {
+        if (!enabled || !isValidKey(contentHash)) {
+            return null;
+        }
+
+        Entry entry = entries.get(contentHash);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        Path path = entryPath(contentHash);
+        try {
+            String text = Files.readString(path, StandardCharsets.UTF_8);
+            long now = System.currentTimeMillis();
+            entry.lastAccess = now;
+            // Persist recency so LRU order survives restarts
+            Files.setLastModifiedTime(path, FileTime.fromMillis(now));
+            hits.incrementAndGet();
+            return text;
+        } catch (NoSuchFileException e) {
+            remove(contentHash);
+        } catch (IOException e) {
+            logger.warn("Could not read OCR cache entry {}: {}", contentHash, e.getMessage());
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String contentHash, String text) {
+        if (!enabled || !isValidKey(contentHash) || text == null || text.isBlank()) {
+            return;
+        }
+
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) {
+            return;
+        }
+
+        Path path = entryPath(contentHash);
+        try {
+            Files.createDirectories(cacheDir);
+            Path tmp = Files.createTempFile(cacheDir, contentHash, ".tmp");
+            Files.write(tmp, bytes);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            Entry previous = entries.put(contentHash, new Entry(bytes.length, System.currentTimeMillis()));
+            totalBytes.addAndGet(bytes.length - (previous != null ? previous.size : 0));
+            evictIfNeeded();
+        } catch (IOException e) {
+            logger.warn("Could not write OCR cache entry {}: {}", contentHash, e.getMessage());
+        }
+    }
+
+    private void evictIfNeeded() {
+        if (totalBytes.get() <= maxBytes) {
+            return;
+        }
+
+        evictionLock.lock();
+        try {
+            List<Map.Entry<String, Entry>> byAge = entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                    .collect(Collectors.toList());
+
+            int evicted = 0;
+            for (Map.Entry<String, Entry> e : byAge) {
+                if (totalBytes.get() <= maxBytes) {
+                    break;
+                }
+                remove(e.getKey());
+                evicted++;
+            }
+            logger.info("OCR result cache evicted {} entries, now {} KB", evicted, totalBytes.get() / 1024);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void remove(String contentHash) {
+        Entry removed = entries.remove(contentHash);
+        if (removed != null) {
+            totalBytes.addAndGet(-removed.size);
+        }
+        try {
+            Files.deleteIfExists(entryPath(contentHash));
+        } catch (IOException e) {
+            logger.warn("Could not delete OCR cache entry {}: {}", contentHash, e.getMessage());
+        }
+    }
+
+    private Path entryPath(String contentHash) {
+        return cacheDir.resolve(contentHash + ENTRY_SUFFIX);
+    }
+
+    // Keys become file names, so only accept plain hex digests
+    private boolean isValidKey(String contentHash) {
+        return contentHash != null && HEX_KEY.matcher(contentHash).matches();
+    }
+
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    public long getTotalBytes() {
+        return totalBytes.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static class Entry {
+        final long size;
+        volatile long lastAccess;
+
+        Entry(long size, long lastAccess) {
+            this.size = size;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
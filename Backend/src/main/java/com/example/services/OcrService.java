@@ -3,16 +3,34 @@ package com.example.services;
 import net.sourceforge.tess4j.Tesseract;
 import net.sourceforge.tess4j.TesseractException;
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.awt.*;
-import java.awt.image.BufferedImage;
+import jakarta.annotation.PreDestroy;
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 @Service
@@ -25,15 +43,61 @@ public class OcrService {
     private static final int SMALL_FILE_THRESHOLD = 5 * 1024 * 1024; 
     private static final int MEDIUM_DPI = 200;
     private static final int HIGH_DPI = 300;
-    private static final int MAX_PAGES_PER_BATCH = 10; 
     private static final int MAX_IMAGE_DIMENSION = 4000; 
-
-    private final Tesseract tesseract;
+    private static final RenderedPage END_OF_DOCUMENT = new RenderedPage(-1, null);
+    // How long a pipeline stage waits on the page queue before re-checking whether the document is done
+    private static final long PIPELINE_WAIT_MS = 100;
+
+    private final int enginePoolSize;
+    private final int pageParallelism;
+    private final boolean textLayerEnabled;
+    private final int textLayerMinChars;
+    private final double textLayerMinQuality;
+    private TesseractPool tesseractPool;
+    private ExecutorService ocrExecutor;
+    private final GrayPagePool pagePool;
+    private final int renderThreads;
+    private final int pipelineQueueDepth;
+    private final ExecutorService renderExecutor;
+    private final OcrPipelineMetrics pipelineMetrics = new OcrPipelineMetrics();
+
+    private final OcrAdmissionController admissionController;
     private String tessDataPath = null;
 
-    public OcrService() {
-        this.tesseract = new Tesseract();
+    public OcrService(@Value("${ocr.engine-pool-size:4}") int enginePoolSize,
+                      @Value("${ocr.page-parallelism:4}") int pageParallelism,
+                      @Value("${ocr.text-layer.enabled:true}") boolean textLayerEnabled,
+                      @Value("${ocr.text-layer.min-chars:20}") int textLayerMinChars,
+                      @Value("${ocr.text-layer.min-quality:0.8}") double textLayerMinQuality,
+                      @Value("${ocr.pipeline.render-threads:2}") int renderThreads,
+                      @Value("${ocr.pipeline.queue-depth:2}") int pipelineQueueDepth,
+                      OcrAdmissionController admissionController) {
+        this.enginePoolSize = Math.max(1, enginePoolSize);
+        this.pageParallelism = Math.max(1, pageParallelism);
+        this.textLayerEnabled = textLayerEnabled;
+        this.textLayerMinChars = textLayerMinChars;
+        this.textLayerMinQuality = textLayerMinQuality;
+        this.admissionController = admissionController;
+        this.renderThreads = Math.max(1, renderThreads);
+        this.pipelineQueueDepth = Math.max(1, pipelineQueueDepth);
+        // Buffers being OCR'd, queued and being rendered, so steady-state pages reuse rather than allocate
+        this.pagePool = new GrayPagePool(this.enginePoolSize + this.pipelineQueueDepth + this.renderThreads);
         initializeTesseract();
+
+        // Page OCR is CPU-bound, so it stays on platform threads sized to the engine pool even in virtual-thread mode
+        AtomicInteger threadCount = new AtomicInteger();
+        ocrExecutor = Executors.newFixedThreadPool(this.enginePoolSize, r -> {
+            Thread t = new Thread(r, "ocr-worker-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        // Helper renderers shared by all documents; each document's own thread always renders as well
+        AtomicInteger renderThreadCount = new AtomicInteger();
+        renderExecutor = Executors.newFixedThreadPool(this.renderThreads, r -> {
+            Thread t = new Thread(r, "ocr-render-" + renderThreadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
     }
 
     private void initializeTesseract() {
@@ -57,12 +121,9 @@ public class OcrService {
             }
 
             if (tessDataPath != null) {
-                tesseract.setDatapath(tessDataPath);
-                tesseract.setLanguage("eng");
-                
-                tesseract.setTessVariable("tessedit_char_whitelist", "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789.,()-/ ");
-                tesseract.setTessVariable("preserve_interword_spaces", "1");
-                logger.info("✓ Tesseract OCR initialized successfully with path: {}", tessDataPath);
+                tesseractPool = new TesseractPool(enginePoolSize, tessDataPath);
+                logger.info("✓ Tesseract OCR initialized successfully with path: {} (engines: {}, page parallelism: {})",
+                        tessDataPath, enginePoolSize, pageParallelism);
             } else {
                 logger.error("✗ Tesseract tessdata folder NOT found! OCR will not work.");
                 logger.error("  Searched paths: /usr/share/tesseract-ocr/tessdata, /usr/share/tesseract-ocr/5/tessdata, etc.");
@@ -70,19 +131,59 @@ public class OcrService {
 
         } catch (Exception e) {
             logger.error("✗ Tesseract initialization failed", e);
+            tessDataPath = null;
         }
     }
 
+    @PreDestroy
+    public void shutdown() {
+        if (ocrExecutor != null) {
+            ocrExecutor.shutdownNow();
+        }
+        renderExecutor.shutdownNow();
+    }
     
     public String extractText(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             return "Error: Empty file";
         }
 
+        // Uploads already on disk are read in place, anything else is streamed to a temp file first
+        if (file instanceof StoredMultipartFile stored) {
+            return extractTextFromFile(stored.getPath(), file.getOriginalFilename(), file.getSize());
+        }
+
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile("ocr-", ".pdf");
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return extractTextFromFile(tempFile, file.getOriginalFilename(), Files.size(tempFile));
+        } catch (IOException e) {
+            logger.error("Failed to read upload: {}", e.getMessage());
+            return "Error: Could not read file - " + e.getMessage();
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    logger.warn("Could not delete temp file {}: {}", tempFile, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Extracts text from a PDF already on local disk. The document is read through
+     * RandomAccessReadBufferedFile, so heap use does not grow with the file size.
+     */
+    public String extractTextFromFile(Path pdfFile, String originalFilename, long fileSize) {
+        if (pdfFile == null || fileSize <= 0) {
+            return "Error: Empty file";
+        }
+
         try {
-            long fileSize = file.getSize();
-            String originalFilename = file.getOriginalFilename();
-            
             logger.info("Processing file: {} (Size: {} MB)", originalFilename, fileSize / (1024 * 1024));
 
         
@@ -94,242 +195,393 @@ public class OcrService {
           
             if (fileSize <= SMALL_FILE_THRESHOLD) {
         
-                return extractSmallFile(file);
+                logger.info("Extracting small file (text layer first, OCR at {} DPI)", MEDIUM_DPI);
+                return extractTextWithOcr(pdfFile, fileSize, MEDIUM_DPI);
             } else if (fileSize <= 30 * 1024 * 1024) {
                 
-                return extractMediumFile(file);
+                logger.info("Extracting medium file (text layer first, OCR at {} DPI)", HIGH_DPI);
+                return extractTextWithOcr(pdfFile, fileSize, HIGH_DPI);
             } else {
             
-                return extractLargeFile(file);
+                logger.info("Processing large file with batch OCR ({} MB)", fileSize / (1024 * 1024));
+                return extractLargeFileWithBatchProcessing(pdfFile, fileSize);
             }
 
+        } catch (OcrOverloadedException | CancellationException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Text extraction failed: {}", e.getMessage(), e);
             return "Error: " + e.getMessage();
         }
     }
 
-  
-    private String extractSmallFile(MultipartFile file) {
+    private static PDDocument openDocument(Path pdfFile) throws IOException {
+        return Loader.loadPDF(new RandomAccessReadBufferedFile(pdfFile.toFile()));
+    }
+
+    /**
+     * Embedded text of a single page, or null when the page has no usable text layer
+     * (scanned page, or a font without a proper unicode mapping that yields garbage).
+     */
+    private String extractTextLayer(PDFTextStripper stripper, PDDocument document, int page) {
         try {
-            byte[] pdfBytes = file.getBytes();
-            
-            // Always use OCR for small files (no embedded text extraction)
-            logger.info("Using OCR for small file ({} DPI)", MEDIUM_DPI);
-            return extractTextWithOcrFromBytes(pdfBytes, MEDIUM_DPI);
-            
-        } catch (IOException e) {
-            logger.warn("Small file extraction failed: {}", e.getMessage());
-            try {
-                return extractTextWithOcrFromBytes(file.getBytes(), MEDIUM_DPI);
-            } catch (IOException ex) {
-                logger.error("Failed to read file bytes: {}", ex.getMessage());
-                return "Error: Could not read file - " + ex.getMessage();
-            }
+            stripper.setStartPage(page + 1);
+            stripper.setEndPage(page + 1);
+            String text = stripper.getText(document);
+            return isUsableTextLayer(text) ? text.trim() : null;
+        } catch (Exception e) {
+            logger.debug("Text layer extraction failed for page {}: {}", page + 1, e.getMessage());
+            return null;
         }
     }
 
+    private boolean isUsableTextLayer(String text) {
+        if (text == null) {
+            return false;
+        }
 
-    private String extractMediumFile(MultipartFile file) {
-        try {
-            byte[] pdfBytes = file.getBytes();
-            
-            // Always use OCR for medium files
-            logger.info("Using optimized OCR for medium file ({} DPI)", HIGH_DPI);
-            return extractTextWithOcrFromBytes(pdfBytes, HIGH_DPI);
-            
-        } catch (IOException e) {
-            logger.warn("Medium file extraction failed: {}", e.getMessage());
-            try {
-                return extractTextWithOcrFromBytes(file.getBytes(), HIGH_DPI);
-            } catch (IOException ex) {
-                logger.error("Failed to read file bytes: {}", ex.getMessage());
-                return "Error: Could not read file - " + ex.getMessage();
+        int visible = 0;
+        int readable = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            visible++;
+            if (Character.isLetterOrDigit(c) || ".,:;()-/&'\"@#%".indexOf(c) >= 0) {
+                readable++;
             }
         }
-    }
 
-    // Extract text from large files - batch processing with memory management
-     
-    private String extractLargeFile(MultipartFile file) {
-        try {
-            byte[] pdfBytes = file.getBytes();
-            
-            
-            logger.info("Processing large file with batch OCR ({} MB)", pdfBytes.length / (1024 * 1024));
-            
-            return extractLargeFileWithBatchProcessing(pdfBytes);
-            
-        } catch (Exception e) {
-            logger.error("Large file extraction failed: {}", e.getMessage(), e);
-            return "Error: Could not process large file - " + e.getMessage();
-        }
-    }
-    private String extractPdfTextFromBytes(byte[] pdfBytes) {
-        // PDFBox text extraction disabled - using OCR only
-        logger.info("Skipping embedded text extraction - using OCR only");
-        return "";
+        return visible >= textLayerMinChars && (double) readable / visible >= textLayerMinQuality;
     }
 
     
-    private String extractTextWithOcrFromBytes(byte[] pdfBytes, int dpi) {
-        StringBuilder fullText = new StringBuilder();
-
-        if (tessDataPath == null) {
+    private String extractTextWithOcr(Path pdfFile, long fileSize, int dpi) {
+        if (tessDataPath == null && !textLayerEnabled) {
             logger.warn("OCR skipped — Tesseract not initialized");
             return "";
         }
 
-        if (pdfBytes == null || pdfBytes.length == 0) {
-            logger.warn("Cannot perform OCR - PDF bytes are empty");
+        int pageCount;
+        try (PDDocument document = openDocument(pdfFile)) {
+            pageCount = document.getNumberOfPages();
+        } catch (Exception e) {
+            logger.error("Error loading PDF for OCR: {}", e.getMessage(), e);
             return "";
         }
 
-        try (PDDocument document = Loader.loadPDF(pdfBytes)) {
-            PDFRenderer renderer = new PDFRenderer(document);
-            int pageCount = document.getNumberOfPages();
-            
-            logger.info("Processing {} pages at {} DPI", pageCount, dpi);
+        logger.info("Processing {} pages at {} DPI", pageCount, dpi);
+        String result = ocrPagesInParallel(pdfFile, fileSize, pageCount, dpi);
+        logger.info("Total OCR text extracted: {} characters from {} pages", result.length(), pageCount);
+        return result;
+    }
 
-            for (int page = 0; page < pageCount; page++) {
-                try {
-                    BufferedImage image = renderer.renderImageWithDPI(page, dpi);
-                    
-                    // Optimize image before OCR
-                    BufferedImage optimizedImage = optimizeImageForOcr(image);
-                    
-                    String ocrResult = performOcr(optimizedImage);
-
-                    if (ocrResult != null && !ocrResult.trim().isEmpty()) {
-                        fullText.append(ocrResult).append(" ");
-                        logger.debug("OCR extracted {} chars from page {}", ocrResult.length(), page + 1);
-                    }
-                    
-                    // Clean up to free memory
-                    image.flush();
-                    optimizedImage.flush();
-                    
-                } catch (Exception e) {
-                    logger.warn("Error processing page {}: {}", page + 1, e.getMessage());
-                }
-            }
+    
+    private String extractLargeFileWithBatchProcessing(Path pdfFile, long fileSize) {
+        if (tessDataPath == null && !textLayerEnabled) {
+            logger.warn("OCR skipped — Tesseract not initialized");
+            return "";
+        }
 
+        int pageCount;
+        try (PDDocument document = openDocument(pdfFile)) {
+            pageCount = document.getNumberOfPages();
         } catch (Exception e) {
-            logger.error("Error loading PDF for OCR: {}", e.getMessage(), e);
+            logger.error("Error in batch OCR processing: {}", e.getMessage(), e);
             return "";
         }
 
-        String result = fullText.toString().trim();
-        logger.info("Total OCR text extracted: {} characters from {} pages", result.length(), pdfBytes.length);
+        // Use lower DPI for large files to speed up processing
+        int dpi = (pageCount > 50) ? 150 : 200;
+        logger.info("Batch processing {} pages at {} DPI", pageCount, dpi);
+
+        String result = ocrPagesInParallel(pdfFile, fileSize, pageCount, dpi);
+        logger.info("Batch OCR complete: {} characters extracted", result.length());
         return result;
     }
 
-    
-    private String extractLargeFileWithBatchProcessing(byte[] pdfBytes) {
+    /**
+     * Extracts the pages of one document through a two-stage pipeline, after admission against the global
+     * page and memory budget.
+     *
+     * Render stage: the calling thread plus up to {@code ocr.pipeline.render-threads - 1} helpers from the shared
+     * render pool pull page indices from a counter, take the embedded text layer when it is usable and otherwise
+     * render the page into a pooled gray buffer. Rendered pages go into a queue of {@code ocr.pipeline.queue-depth};
+     * a full queue blocks the renderers, so at most workers + queue + renderers page buffers exist per document.
+     * OCR stage: up to {@code pageParallelism} workers on the OCR pool take pages and run Tesseract on them.
+     * PDDocument is not thread-safe, so every renderer opens its own view of the file.
+     */
+    private String ocrPagesInParallel(Path pdfFile, long fileSize, int pageCount, int dpi) {
+        if (pageCount <= 0) {
+            return "";
+        }
+
+        int ocrWorkers = tesseractPool == null ? 0 : Math.min(Math.min(pageParallelism, enginePoolSize), pageCount);
+        int renderers = Math.min(renderThreads, pageCount);
+        PagePipeline pipeline = new PagePipeline(pdfFile, pageCount, dpi, ocrWorkers, renderers);
+        long pageBuffers = ocrWorkers + pipelineQueueDepth + renderers;
+
+        try (OcrAdmissionController.Permit permit = admissionController.acquire(fileSize, pageCount, pageBuffers * pageImageBytes(dpi))) {
+            pipeline.run();
+        }
+
+        OcrPipelineMetrics metrics = pipeline.metrics;
+        pipelineMetrics.add(metrics);
+        logger.info("{} pages: {}", pageCount, metrics.summary());
+        if (textLayerEnabled) {
+            logger.info("{} of {} pages read from the embedded text layer, {} sent to OCR",
+                    metrics.getTextLayerPages(), pageCount, pageCount - metrics.getTextLayerPages());
+        }
+
         StringBuilder fullText = new StringBuilder();
+        for (String pageText : pipeline.pageTexts) {
+            if (pageText != null && !pageText.trim().isEmpty()) {
+                fullText.append(pageText).append(" ");
+            }
+        }
+        return fullText.toString().trim();
+    }
 
-        if (tessDataPath == null) {
-            logger.warn("OCR skipped — Tesseract not initialized");
-            return "";
+    // Memory held by one rendered A4 page: the grayscale raster plus its direct copy for Tesseract
+    static long pageImageBytes(int dpi) {
+        long width = Math.round(8.27 * dpi);
+        long height = Math.round(11.69 * dpi);
+        return width * height * 2;
+    }
+
+    /**
+     * One document's pass through the shared render and OCR pools.
+     *
+     * The calling thread never waits on a pool task that has not started, so documents queued behind each other
+     * on the pools cannot deadlock: helpers and workers claim a slot when they start, the caller takes over the
+     * slots nobody claimed once it has rendered its share, and the last renderer to finish ends the document.
+     * Pages are queued only while one of the document's OCR workers is running; otherwise (none started yet, or
+     * all failed) the renderer OCRs the page itself. Whatever is still queued once the workers are gone, because the
+     * last one exited after a page was queued, is OCR'd by the caller, so no page is dropped.
+     */
+    private final class PagePipeline {
+
+        final String[] pageTexts;
+        final OcrPipelineMetrics metrics = new OcrPipelineMetrics();
+        private final Path pdfFile;
+        private final int pageCount;
+        private final int dpi;
+        private final int ocrWorkers;
+        private final int helpers;
+        private final AtomicInteger nextPage = new AtomicInteger();
+        private final BlockingQueue<RenderedPage> queue = new ArrayBlockingQueue<>(pipelineQueueDepth);
+        private final AtomicInteger workerSlots;
+        private final AtomicInteger helperSlots;
+        private final AtomicInteger renderersLeft;
+        private final CountDownLatch rendered = new CountDownLatch(1);
+        // Workers that have started and not yet exited
+        private final AtomicInteger liveOcrWorkers = new AtomicInteger();
+        private final Semaphore exitedWorkers = new Semaphore(0);
+
+        PagePipeline(Path pdfFile, int pageCount, int dpi, int ocrWorkers, int renderers) {
+            this.pdfFile = pdfFile;
+            this.pageCount = pageCount;
+            this.dpi = dpi;
+            this.pageTexts = new String[pageCount];
+            this.ocrWorkers = ocrWorkers;
+            this.helpers = renderers - 1;
+            this.workerSlots = new AtomicInteger(ocrWorkers);
+            this.helperSlots = new AtomicInteger(helpers);
+            this.renderersLeft = new AtomicInteger(renderers);
         }
 
-        try (PDDocument document = Loader.loadPDF(pdfBytes)) {
-            PDFRenderer renderer = new PDFRenderer(document);
-            int pageCount = document.getNumberOfPages();
-            
-            logger.info("Batch processing {} pages in groups of {}", pageCount, MAX_PAGES_PER_BATCH);
+        void run() {
+            List<Future<?>> futures = new ArrayList<>();
+            try {
+                for (int i = 0; i < ocrWorkers; i++) {
+                    futures.add(ocrExecutor.submit(this::ocrWorker));
+                }
+                for (int i = 0; i < helpers; i++) {
+                    futures.add(renderExecutor.submit(this::renderHelper));
+                }
 
-            for (int batchStart = 0; batchStart < pageCount; batchStart += MAX_PAGES_PER_BATCH) {
-                int batchEnd = Math.min(batchStart + MAX_PAGES_PER_BATCH, pageCount);
-                
-                logger.info("Processing batch: pages {}-{} of {}", batchStart + 1, batchEnd, pageCount);
+                try {
+                    renderStage();
+                } finally {
+                    // Helpers still queued behind other documents become no-ops; the caller counts them as done
+                    finishRendering(1 + Math.max(0, helperSlots.getAndSet(0)));
+                }
+                rendered.await();
+                // Likewise for workers that never started; wait only for those that did
+                int startedWorkers = ocrWorkers - Math.max(0, workerSlots.getAndSet(0));
+                exitedWorkers.acquire(startedWorkers);
+                RenderedPage leftover;
+                while ((leftover = queue.poll()) != null) {
+                    if (leftover != END_OF_DOCUMENT) {
+                        ocrPage(leftover.page(), leftover.buffer());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("OCR interrupted after {} of {} pages", Math.min(nextPage.get(), pageCount), pageCount);
+            } finally {
+                // No-ops once the stages have finished; on failure this stops whatever is still running
+                futures.forEach(f -> f.cancel(true));
+                RenderedPage leftover;
+                while ((leftover = queue.poll()) != null) {
+                    pagePool.release(leftover.buffer());
+                }
+            }
+        }
 
-                for (int page = batchStart; page < batchEnd; page++) {
-                    try {
-                        // Use lower DPI for large files to speed up processing
-                        int dpi = (pageCount > 50) ? 150 : 200;
-                        BufferedImage image = renderer.renderImageWithDPI(page, dpi);
-                        
-                        BufferedImage optimizedImage = optimizeImageForOcr(image);
-                        String ocrResult = performOcr(optimizedImage);
+        private void renderHelper() {
+            if (helperSlots.getAndDecrement() <= 0) {
+                return;
+            }
+            try {
+                renderStage();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                logger.error("OCR render helper failed: {}", e.getMessage());
+            } finally {
+                finishRendering(1);
+            }
+        }
 
-                        if (ocrResult != null && !ocrResult.trim().isEmpty()) {
-                            fullText.append(ocrResult).append(" ");
+        // The last renderer out ends the document and wakes idle workers; busy ones see the end when the queue drains
+        private void finishRendering(int renderers) {
+            if (renderersLeft.addAndGet(-renderers) == 0) {
+                rendered.countDown();
+                for (int i = liveOcrWorkers.get(); i > 0; i--) {
+                    queue.offer(END_OF_DOCUMENT);
+                }
+            }
+        }
+
+        private void renderStage() throws InterruptedException {
+            try (PDDocument document = openDocument(pdfFile)) {
+                PDFRenderer renderer = new PDFRenderer(document);
+                PDFTextStripper stripper = textLayerEnabled ? new PDFTextStripper() : null;
+
+                int page;
+                while ((page = nextPage.getAndIncrement()) < pageCount) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException();
+                    }
+                    if (stripper != null) {
+                        long start = System.nanoTime();
+                        String layerText = extractTextLayer(stripper, document, page);
+                        metrics.textLayer(System.nanoTime() - start, layerText != null);
+                        if (layerText != null) {
+                            pageTexts[page] = layerText;
+                            continue;
                         }
-                        
-                        // Memory cleanup
-                        image.flush();
-                        optimizedImage.flush();
+                    }
+
+                    if (tesseractPool == null) {
+                        logger.debug("Page {} has no text layer and OCR is not initialized", page + 1);
+                        continue;
+                    }
 
+                    GrayPagePool.PageBuffer pageBuffer;
+                    long start = System.nanoTime();
+                    try {
+                        // Rendered straight to grayscale at the final size into a reused buffer
+                        pageBuffer = pagePool.render(renderer, document, page, dpi, MAX_IMAGE_DIMENSION);
                     } catch (Exception e) {
-                        logger.warn("Error processing page {}: {}", page + 1, e.getMessage());
+                        logger.warn("Error rendering page {}: {}", page + 1, e.getMessage());
+                        continue;
+                    }
+                    metrics.rendered(System.nanoTime() - start);
+
+                    long queuedAt = System.nanoTime();
+                    boolean queued = enqueue(new RenderedPage(page, pageBuffer));
+                    metrics.backpressure(System.nanoTime() - queuedAt);
+                    if (!queued) {
+                        ocrPage(page, pageBuffer);
                     }
                 }
-                
-                // Force garbage collection between batches for large files
-                if (pageCount > MAX_PAGES_PER_BATCH) {
-                    System.gc();
+            } catch (IOException e) {
+                logger.error("Error loading PDF for OCR renderer: {}", e.getMessage());
+            }
+        }
+
+        // Hands the page to the workers while one is running, blocking while the queue is full; false means OCR it here
+        private boolean enqueue(RenderedPage item) throws InterruptedException {
+            while (liveOcrWorkers.get() > 0) {
+                if (queue.offer(item, PIPELINE_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                    return true;
                 }
             }
+            return false;
+        }
 
-        } catch (Exception e) {
-            logger.error("Error in batch OCR processing: {}", e.getMessage(), e);
-            return "";
+        // OCR on a renderer or the calling thread, for pages no worker is around to take
+        private void ocrPage(int page, GrayPagePool.PageBuffer pageBuffer) throws InterruptedException {
+            try {
+                Tesseract tesseract = tesseractPool.borrow();
+                try {
+                    long start = System.nanoTime();
+                    pageTexts[page] = performOcr(tesseract, pageBuffer);
+                    metrics.ocr(System.nanoTime() - start);
+                } finally {
+                    tesseractPool.release(tesseract);
+                }
+            } finally {
+                pagePool.release(pageBuffer);
+            }
         }
 
-        String result = fullText.toString().trim();
-        logger.info("Batch OCR complete: {} characters extracted", result.length());
-        return result;
-    }
+        private void ocrWorker() {
+            if (workerSlots.getAndDecrement() <= 0) {
+                return;
+            }
+            liveOcrWorkers.incrementAndGet();
+            Tesseract tesseract = null;
+            try {
+                while (rendered.getCount() > 0 || !queue.isEmpty()) {
+                    long waitStart = System.nanoTime();
+                    RenderedPage page = queue.poll(PIPELINE_WAIT_MS, TimeUnit.MILLISECONDS);
+                    metrics.ocrIdle(System.nanoTime() - waitStart);
+                    if (page == null || page == END_OF_DOCUMENT) {
+                        continue;
+                    }
 
-    
-    //  Optimize image for better OCR accuracy
-    //
-    private BufferedImage optimizeImageForOcr(BufferedImage original) {
-        // Check if image needs resizing
-        if (original.getWidth() > MAX_IMAGE_DIMENSION || original.getHeight() > MAX_IMAGE_DIMENSION) {
-            return resizeImage(original, MAX_IMAGE_DIMENSION);
-        }
-        
-        // Apply basic image processing for better OCR
-        return applyImageProcessing(original);
-    }
+                    try {
+                        if (tesseract == null) {
+                            // Borrowed on the first page, so text-only documents never hold an engine
+                            tesseract = tesseractPool.borrow();
+                        }
+                        long start = System.nanoTime();
+                        String ocrResult = performOcr(tesseract, page.buffer());
+                        metrics.ocr(System.nanoTime() - start);
+                        pageTexts[page.page()] = ocrResult;
 
-    
-    private BufferedImage resizeImage(BufferedImage original, int maxDimension) {
-        int width = original.getWidth();
-        int height = original.getHeight();
-        
-        double scale = Math.min((double) maxDimension / width, (double) maxDimension / height);
-        
-        int newWidth = (int) (width * scale);
-        int newHeight = (int) (height * scale);
-        
-        BufferedImage resized = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g = resized.createGraphics();
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g.drawImage(original, 0, 0, newWidth, newHeight, null);
-        g.dispose();
-        
-        return resized;
+                        if (ocrResult != null && !ocrResult.trim().isEmpty()) {
+                            logger.debug("OCR extracted {} chars from page {}", ocrResult.length(), page.page() + 1);
+                        }
+                    } finally {
+                        pagePool.release(page.buffer());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                logger.error("OCR worker failed: {}", e.getMessage());
+            } finally {
+                liveOcrWorkers.decrementAndGet();
+                if (tesseract != null) {
+                    tesseractPool.release(tesseract);
+                }
+                exitedWorkers.release();
+            }
+        }
     }
 
-    
-    private BufferedImage applyImageProcessing(BufferedImage original) {
-        int width = original.getWidth();
-        int height = original.getHeight();
-        
-        BufferedImage processed = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
-        Graphics2D g = processed.createGraphics();
-        g.drawImage(original, 0, 0, null);
-        g.dispose();
-        
-        return processed;
+    private record RenderedPage(int page, GrayPagePool.PageBuffer buffer) {
     }
 
-    private String performOcr(BufferedImage image) {
+    private String performOcr(Tesseract tesseract, GrayPagePool.PageBuffer pageBuffer) {
         try {
-            return tesseract.doOCR(image);
+            // 8 bits per pixel, read in place from the pooled direct buffer
+            return tesseract.doOCR(pageBuffer.getWidth(), pageBuffer.getHeight(), pageBuffer.pixels(), null, 8);
         } catch (TesseractException e) {
             logger.error("OCR failed: {}", e.getMessage());
             return "";
@@ -344,11 +596,24 @@ public class OcrService {
         return tessDataPath != null;
     }
 
+    public Map<String, Object> getPagePoolStats() {
+        return pagePool.getStats();
+    }
+
+    public Map<String, Object> getPipelineStats() {
+        return pipelineMetrics.getStats();
+    }
+
+    public boolean isTextLayerEnabled() {
+        return textLayerEnabled;
+    }
+
    
     public String getStatus() {
         if (tessDataPath == null) {
             return "OCR Service: Not initialized (tessdata not found)";
         }
-        return "OCR Service: Initialized (tessdata: " + tessDataPath + ")";
+        return "OCR Service: Initialized (tessdata: " + tessDataPath + ", engines: " + enginePoolSize
+                + ", page parallelism: " + pageParallelism + ")";
     }
 }
@@ -6,8 +6,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 /**
- * PDF Text Extractor using OCR only (no PDFBox text extraction)
- * This service delegates to OcrService for text extraction
+ * PDF Text Extractor
+ * This service delegates to OcrService, which reads the embedded text layer
+ * page by page and only OCRs pages without usable text
  */
 @Service
 public class PdfTextExtractor {
@@ -31,10 +32,9 @@ public class PdfTextExtractor {
         }
         
         try {
-            // Use OCR service for text extraction (no PDFBox text extraction)
             String text = ocrService.extractText(file);
             
-            logger.info("Extracted {} characters from PDF using OCR", text.length());
+            logger.info("Extracted {} characters from PDF", text.length());
             return text;
             
         } catch (Exception e) {
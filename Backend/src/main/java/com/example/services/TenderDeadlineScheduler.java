@@ -0,0 +1,178 @@
+package com.example.services;
+
+import com.example.entity.Tender;
+import com.example.repository.TenderRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closes each OPEN tender at its deadline instead of waiting for the hourly sweep.
+ *
+ * Deadlines sit in a DelayQueue drained by one daemon thread; a due entry closes just that row with a
+ * guarded single-row UPDATE and evicts just its cache keys. Creates and status changes on this instance
+ * schedule or cancel directly. Only deadlines within the refill window (two refill intervals) are queued, so the
+ * queue stays bounded; a periodic refill loads every OPEN tender due within that window, which covers later
+ * deadlines, startup and tenders written by other instances. The hourly closeExpiredTenders job stays as a backstop.
+ */
+@Service
+public class TenderDeadlineScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenderDeadlineScheduler.class);
+
+    @Autowired
+    private TenderRepository tenderRepository;
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private DashboardAggregateStore dashboardAggregateStore;
+
+    @Value("${tender.deadline.refill-interval-ms:300000}")
+    private long refillIntervalMs;
+
+    private final DelayQueue<Deadline> queue = new DelayQueue<>();
+    // The live entry per tender; a queued entry that is no longer in here was rescheduled or cancelled
+    private final Map<Long, Deadline> scheduled = new ConcurrentHashMap<>();
+    private Thread worker;
+
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::run, "tender-deadline");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.interrupt();
+    }
+
+    // Called after a tender is created or its status changes
+    public void schedule(Tender tender) {
+        if (tender == null || tender.getId() == null) {
+            return;
+        }
+        if (!"OPEN".equals(tender.getStatus()) || tender.getDeadline() == null) {
+            cancel(tender.getId());
+            return;
+        }
+        if (tender.getDeadline().isAfter(windowEnd())) {
+            // A later refill picks it up once it is due within the window
+            cancel(tender.getId());
+            return;
+        }
+        Deadline current = scheduled.get(tender.getId());
+        if (current != null && current.deadline.equals(tender.getDeadline())) {
+            return;
+        }
+        Deadline deadline = new Deadline(tender.getId(), tender.getCreatedBy(), tender.getDeadline());
+        Deadline old = scheduled.put(tender.getId(), deadline);
+        if (old != null) {
+            queue.remove(old);
+        }
+        queue.put(deadline);
+    }
+
+    public void cancel(Long tenderId) {
+        if (tenderId == null) {
+            return;
+        }
+        Deadline old = scheduled.remove(tenderId);
+        if (old != null) {
+            queue.remove(old);
+        }
+    }
+
+    public int pendingCount() {
+        return scheduled.size();
+    }
+
+    int queuedCount() {
+        return queue.size();
+    }
+
+    private LocalDateTime windowEnd() {
+        return LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(2 * refillIntervalMs));
+    }
+
+    /**
+     * Load the OPEN tenders due before the next refill, with one window of overlap. Runs at startup.
+     */
+    @Scheduled(fixedDelayString = "${tender.deadline.refill-interval-ms:300000}")
+    public void refill() {
+        try {
+            LocalDateTime until = windowEnd();
+            List<Tender> due = tenderRepository.findOpenTendersWithDeadlineBefore(until);
+            due.forEach(this::schedule);
+            logger.debug("Deadline scheduler refilled with {} tender(s) due before {}, {} pending", due.size(), until, scheduled.size());
+        } catch (Exception e) {
+            logger.error("Failed to load tender deadlines: ", e);
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Deadline due = queue.take();
+                if (scheduled.remove(due.tenderId, due)) {
+                    close(due);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.error("Failed to close tender at its deadline: ", e);
+            }
+        }
+    }
+
+    private void close(Deadline due) {
+        // Re-checks status and deadline in the UPDATE, so a reopened or extended tender is left alone
+        int closed = tenderRepository.closeIfExpired(due.tenderId, LocalDateTime.now());
+        // Every instance queues the same deadline and only one UPDATE matches, but each has its own caches to evict
+        cacheInvalidator.tendersClosed(List.of(due.tenderId), due.createdBy != null ? List.of(due.createdBy) : List.of());
+        if (closed > 0) {
+            dashboardAggregateStore.tenderStatusChanged("OPEN", "CLOSED");
+            logger.info("Closed tender {} at its deadline {}", due.tenderId, due.deadline);
+        }
+    }
+
+    private static final class Deadline implements Delayed {
+        final Long tenderId;
+        final Long createdBy;
+        final LocalDateTime deadline;
+        final long dueAtMillis;
+
+        Deadline(Long tenderId, Long createdBy, LocalDateTime deadline) {
+            this.tenderId = tenderId;
+            this.createdBy = createdBy;
+            this.deadline = deadline;
+            this.dueAtMillis = deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMillis, ((Deadline) other).dueAtMillis);
+        }
+    }
+}
@@ -1,20 +1,27 @@
 package com.example.services;
 
+import com.example.dto.CursorPage;
 import com.example.dto.TenderRequest;
 import com.example.entity.Tender;
 import com.example.repository.TenderRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 
 @Service
@@ -25,8 +32,24 @@ public class TenderService {
     @Autowired
     private TenderRepository tenderRepository;
 
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private DashboardAggregateStore dashboardAggregateStore;
+
+    @Autowired
+    private TenderDeadlineScheduler tenderDeadlineScheduler;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    // Stale-while-revalidate reloads read the repository directly, not through the @Cacheable proxy
+    @PostConstruct
+    void registerCacheReloaders() {
+        cacheInvalidator.registerReloader("allTenders", key -> loadAllTenders());
+    }
     
-    @CacheEvict(value = {"allTenders", "tendersByUser", "dashboardData"}, allEntries = true)
     public Map<String, Object> createTender(TenderRequest request) {
         Map<String, Object> response = new HashMap<>();
         
@@ -68,6 +91,9 @@ public class TenderService {
             tender.setUserType(request.getUserType());
 
             Tender savedTender = tenderRepository.save(tender);
+            cacheInvalidator.tenderChanged(savedTender);
+            dashboardAggregateStore.tenderCreated(savedTender);
+            tenderDeadlineScheduler.schedule(savedTender);
             logger.info("Tender created successfully with id: {}", savedTender.getId());
 
             response.put("success", true);
@@ -115,27 +141,53 @@ public class TenderService {
     }
 
    
-    @Cacheable(value = "allTenders", unless = "#result == null")
+    @Cacheable(value = "allTenders", sync = true)
     public List<Tender> getAllTenders() {
         logger.info("Fetching all tenders (Cache Miss - loading from DB)");
-        List<Tender> tenders = tenderRepository.findAllTendersSorted();
-        
-        // Update status for tenders with expired deadlines
-        updateTenderStatusesBasedOnDeadline(tenders);
-        
+        List<Tender> tenders = loadAllTenders();
         logger.info("Found {} tenders", tenders.size());
         return tenders;
     }
 
+    private List<Tender> loadAllTenders() {
+        List<Tender> tenders = tenderRepository.findAllTendersSorted();
+
+        // Show tenders past their deadline as CLOSED until TenderDeadlineScheduler persists it
+        applyEffectiveStatus(tenders);
+
+        return tenders;
+    }
+
+    // Keyset-paginated listing with optional filters; pages are not cached since every cursor is a new key
+    public CursorPage<Tender> getTendersPage(KeysetPaging.Request page, String status, Long createdBy, String search) {
+        Specification<Tender> spec = (root, query, cb) -> {
+            List<Predicate> filters = new ArrayList<>();
+            if (status != null && !status.isBlank()) {
+                filters.add(cb.equal(root.get("status"), status.trim().toUpperCase()));
+            }
+            if (createdBy != null) {
+                filters.add(cb.equal(root.get("createdBy"), createdBy));
+            }
+            if (search != null && !search.isBlank()) {
+                filters.add(cb.like(cb.lower(root.get("name")), KeysetPaging.containsPattern(search.trim()), '\\'));
+            }
+            return KeysetPaging.and(root, cb, filters, page);
+        };
+
+        CursorPage<Tender> result = KeysetPaging.fetch(tenderRepository, spec, page, Tender::getCreatedAt, Tender::getId);
+        applyEffectiveStatus(result.getItems());
+        return result;
+    }
+
     @Cacheable(value = "tendersByUser", key = "#userId",
               condition = "#userId != null",
-              unless = "#result == null")
+              sync = true)
     public List<Tender> getTendersByUser(Long userId) {
         logger.debug("Fetching tenders for user: {} (Cache Miss - loading from DB)", userId);
         List<Tender> tenders = tenderRepository.findByCreatedByOrderByCreatedAtDesc(userId);
         
-        // Update status for tenders with expired deadlines
-        updateTenderStatusesBasedOnDeadline(tenders);
+        // Show tenders past their deadline as CLOSED until TenderDeadlineScheduler persists it
+        applyEffectiveStatus(tenders);
         
         return tenders;
     }
@@ -143,21 +195,19 @@ public class TenderService {
    
     @Cacheable(value = "tenderById", key = "#id",
               condition = "#id != null",
-              unless = "#result == null")
+              sync = true)
     public Tender getTenderById(Long id) {
         logger.debug("Fetching tender by ID: {} (Cache Miss - loading from DB)", id);
         Tender tender = tenderRepository.findById(id).orElse(null);
         
-        // Update status if deadline has passed
         if (tender != null) {
-            updateTenderStatusIfExpired(tender);
+            applyEffectiveStatus(tender, LocalDateTime.now());
         }
         
         return tender;
     }
 
     
-    @CacheEvict(value = {"allTenders", "tenderById", "tendersByUser", "dashboardData"}, allEntries = true)
     public Map<String, Object> deleteTender(Long id, Long userId) {
         Map<String, Object> response = new HashMap<>();
         
@@ -175,6 +225,9 @@ public class TenderService {
         }
         
         tenderRepository.delete(tender);
+        cacheInvalidator.tenderChanged(tender);
+        dashboardAggregateStore.tenderDeleted(tender);
+        tenderDeadlineScheduler.cancel(tender.getId());
         logger.info("Tender {} deleted by user {}", id, userId);
         
         response.put("success", true);
@@ -183,7 +236,6 @@ public class TenderService {
     }
 
   
-    @CacheEvict(value = {"allTenders", "tenderById", "tendersByUser", "dashboardData"}, allEntries = true)
     public Map<String, Object> updateComments(Long id, Long userId, String comments) {
         Map<String, Object> response = new HashMap<>();
         
@@ -202,6 +254,7 @@ public class TenderService {
         
         tender.setComments(comments);
         tenderRepository.save(tender);
+        cacheInvalidator.tenderChanged(tender);
         logger.info("Tender {} comments updated by user {}", id, userId);
         
         response.put("success", true);
@@ -210,7 +263,6 @@ public class TenderService {
         return response;
     }
     
-    @CacheEvict(value = {"allTenders", "tenderById", "tendersByUser", "dashboardData"}, allEntries = true)
     public Map<String, Object> updateTenderStatus(Long id, String status) {
         Map<String, Object> response = new HashMap<>();
         
@@ -239,6 +291,9 @@ public class TenderService {
         String oldStatus = tender.getStatus();
         tender.setStatus(upperStatus);
         tenderRepository.save(tender);
+        cacheInvalidator.tenderChanged(tender);
+        dashboardAggregateStore.tenderStatusChanged(oldStatus, upperStatus);
+        tenderDeadlineScheduler.schedule(tender);
         logger.info("Tender {} status updated from {} to {}", id, oldStatus, upperStatus);
         
         response.put("success", true);
@@ -263,81 +318,52 @@ public class TenderService {
     }
     
     /**
-     * Update tender status if deadline has passed
-     * This is called when fetching tenders to ensure status is always up-to-date
+     * Mark an OPEN tender whose deadline has passed as CLOSED on the returned object only.
+     * Reads never write; TenderDeadlineScheduler (or the hourly backstop) persists the change.
      */
-    private void updateTenderStatusIfExpired(Tender tender) {
-        if (tender == null || tender.getStatus() == null || !"OPEN".equals(tender.getStatus())) {
-            return; // Only update OPEN tenders
-        }
-        
-        if (tender.getDeadline() == null) {
-            return; // No deadline, keep as OPEN
-        }
-        
-        LocalDateTime now = LocalDateTime.now();
-        // If deadline has passed, update status to CLOSED
-        if (tender.getDeadline().isBefore(now) || tender.getDeadline().isEqual(now)) {
-            String oldStatus = tender.getStatus();
+    private void applyEffectiveStatus(Tender tender, LocalDateTime now) {
+        if ("OPEN".equals(tender.getStatus()) && tender.getDeadline() != null && !tender.getDeadline().isAfter(now)) {
             tender.setStatus("CLOSED");
-            tenderRepository.save(tender);
-            logger.info("Auto-updated tender {} status from {} to CLOSED (deadline: {})", 
-                tender.getId(), oldStatus, tender.getDeadline());
         }
     }
-    
-    /**
-     * Update statuses for multiple tenders based on deadlines
-     */
-    private void updateTenderStatusesBasedOnDeadline(List<Tender> tenders) {
-        if (tenders == null || tenders.isEmpty()) {
-            return;
-        }
-        
+
+    private void applyEffectiveStatus(List<Tender> tenders) {
         LocalDateTime now = LocalDateTime.now();
-        int updatedCount = 0;
-        
         for (Tender tender : tenders) {
-            if (tender.getStatus() != null && "OPEN".equals(tender.getStatus()) && 
-                tender.getDeadline() != null) {
-                
-                // If deadline has passed, update status to CLOSED
-                if (tender.getDeadline().isBefore(now) || tender.getDeadline().isEqual(now)) {
-                    tender.setStatus("CLOSED");
-                    tenderRepository.save(tender);
-                    updatedCount++;
-                }
-            }
-        }
-        
-        if (updatedCount > 0) {
-            logger.info("Auto-updated {} tender(s) status to CLOSED based on deadline", updatedCount);
+            applyEffectiveStatus(tender, now);
         }
     }
     
-    // Scheduled task to automatically close tenders when deadline passes
-    // This runs every hour to check for expired deadlines
+    // Hourly backstop: TenderDeadlineScheduler closes tenders at their deadline, this catches any it missed
     @org.springframework.scheduling.annotation.Scheduled(cron = "0 0 * * * *")
-    @CacheEvict(value = {"allTenders", "tenderById", "tendersByUser", "dashboardData"}, allEntries = true)
     public void closeExpiredTenders() {
+        // One instance per run; the others skip
+        jobLockService.runExclusively("closeExpiredTenders", Duration.ofMinutes(10), Duration.ofMinutes(1),
+                this::closeExpiredTendersNow);
+    }
+
+    private void closeExpiredTendersNow() {
         logger.info("Running scheduled task to close expired tenders...");
         
         LocalDateTime now = LocalDateTime.now();
-        
-        // Find all OPEN tenders with expired deadlines
-        List<Tender> expiredTenders = tenderRepository.findOpenTendersWithExpiredDeadline(now);
-        
-        if (!expiredTenders.isEmpty()) {
-            logger.info("Found {} tenders with expired deadlines", expiredTenders.size());
-            for (Tender tender : expiredTenders) {
-                String oldStatus = tender.getStatus();
-                tender.setStatus("CLOSED");
-                tenderRepository.save(tender);
-                logger.info("Automatically closed tender {} - deadline was {} (status changed from {} to CLOSED)", 
-                    tender.getId(), tender.getDeadline(), oldStatus);
-            }
-        } else {
+        List<Object[]> expired = tenderRepository.findExpiredOpenTenderKeys(now);
+        if (expired.isEmpty()) {
             logger.info("No expired tenders found");
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>();
+        Set<Long> creators = new HashSet<>();
+        for (Object[] row : expired) {
+            ids.add((Long) row[0]);
+            if (row[1] != null) {
+                creators.add((Long) row[1]);
+            }
         }
+
+        int closed = tenderRepository.closeExpiredTenders(ids, now);
+        cacheInvalidator.tendersClosed(ids, creators);
+        dashboardAggregateStore.tenderStatusChanged("OPEN", "CLOSED", closed);
+        logger.info("Automatically closed {} of {} expired tender(s)", closed, ids.size());
     }
 }
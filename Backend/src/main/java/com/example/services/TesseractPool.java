@@ -0,0 +1,59 @@
+package com.example.services;
+
+import net.sourceforge.tess4j.Tesseract;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of Tesseract engines.
+ * An engine is handed to exactly one thread at a time (borrow -> OCR -> release),
+ * so no engine state is ever shared between concurrent pages.
+ */
+public class TesseractPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(TesseractPool.class);
+
+    private final BlockingQueue<Tesseract> engines;
+    private final int size;
+
+    public TesseractPool(int size, String tessDataPath) {
+        this.size = Math.max(1, size);
+        this.engines = new ArrayBlockingQueue<>(this.size);
+
+        for (int i = 0; i < this.size; i++) {
+            engines.add(createEngine(tessDataPath));
+        }
+        logger.info("Tesseract pool ready with {} engine(s)", this.size);
+    }
+
+    private static Tesseract createEngine(String tessDataPath) {
+        Tesseract tesseract = new Tesseract();
+        tesseract.setDatapath(tessDataPath);
+        tesseract.setLanguage("eng");
+        tesseract.setTessVariable("tessedit_char_whitelist", "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789.,()-/ ");
+        tesseract.setTessVariable("preserve_interword_spaces", "1");
+        return tesseract;
+    }
+
+    // Blocks until an engine is free
+    public Tesseract borrow() throws InterruptedException {
+        return engines.take();
+    }
+
+    public void release(Tesseract tesseract) {
+        if (tesseract != null) {
+            engines.offer(tesseract);
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getAvailable() {
+        return engines.size();
+    }
+}
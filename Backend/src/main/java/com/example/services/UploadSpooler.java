@@ -0,0 +1,124 @@
+package com.example.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Streams uploads to local temp files for OCR, computing the content hash in the same pass.
+ * The upload is never held in the heap as a whole.
+ */
+@Service
+public class UploadSpooler {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadSpooler.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path spoolDir;
+
+    public UploadSpooler(@Value("${ocr.spool-dir:}") String spoolDir) {
+        this.spoolDir = spoolDir == null || spoolDir.isBlank()
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "ocr-uploads")
+                : Paths.get(spoolDir);
+    }
+
+    public SpooledUpload spool(MultipartFile file) throws IOException {
+        MessageDigest md = newDigest();
+
+        // Background jobs already keep their uploads on disk: hash the copy in place
+        if (file instanceof StoredMultipartFile stored) {
+            try (InputStream in = new DigestInputStream(Files.newInputStream(stored.getPath()), md)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return new SpooledUpload(stored.getPath(), DuplicateDetector.toHex(md.digest()),
+                    stored.getSize(), file.getOriginalFilename(), false);
+        }
+
+        Files.createDirectories(spoolDir);
+        Path target = Files.createTempFile(spoolDir, "upload-", ".pdf");
+        long size = 0;
+        try (InputStream in = new DigestInputStream(file.getInputStream(), md);
+             OutputStream out = Files.newOutputStream(target)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                size += read;
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+
+        logger.debug("Spooled {} ({} bytes) to {}", file.getOriginalFilename(), size, target);
+        return new SpooledUpload(target, DuplicateDetector.toHex(md.digest()), size, file.getOriginalFilename(), true);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+
+    /**
+     * An upload on local disk together with its content hash. Closing deletes the temp file.
+     */
+    public static class SpooledUpload implements AutoCloseable {
+
+        private final Path path;
+        private final String hash;
+        private final long size;
+        private final String originalFilename;
+        private final boolean temporary;
+
+        SpooledUpload(Path path, String hash, long size, String originalFilename, boolean temporary) {
+            this.path = path;
+            this.hash = hash;
+            this.size = size;
+            this.originalFilename = originalFilename;
+            this.temporary = temporary;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public String getOriginalFilename() {
+            return originalFilename;
+        }
+
+        @Override
+        public void close() {
+            if (!temporary) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                logger.warn("Could not delete spooled upload {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.services;
+
+import com.example.dto.DocumentValidationResponse;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Future;
+
+/**
+ * In-memory state of one background document validation.
+ */
+public class ValidationJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    public enum Mode { RULES, CONTENT }
+
+    private final String id;
+    private final Mode mode;
+    private final List<String> requiredDocuments;
+    private final Path workDir;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    // file name -> PENDING / PROCESSING / CACHED / DONE / FAILED, in upload order
+    private final Map<String, String> fileProgress = new LinkedHashMap<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile DocumentValidationResponse result;
+    private volatile String error;
+    private volatile Future<?> future;
+
+    ValidationJob(String id, Mode mode, List<String> requiredDocuments, List<String> fileNames, Path workDir) {
+        this.id = id;
+        this.mode = mode;
+        this.requiredDocuments = List.copyOf(requiredDocuments);
+        this.workDir = workDir;
+        for (String fileName : fileNames) {
+            fileProgress.put(fileName, "PENDING");
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public List<String> getRequiredDocuments() {
+        return requiredDocuments;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public DocumentValidationResponse getResult() {
+        return result;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    Path getWorkDir() {
+        return workDir;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    Future<?> getFuture() {
+        return future;
+    }
+
+    synchronized void updateFile(String fileName, String fileStatus) {
+        fileProgress.put(fileName, fileStatus);
+    }
+
+    synchronized boolean markRunning() {
+        if (status != Status.QUEUED) {
+            return false;
+        }
+        status = Status.RUNNING;
+        startedAt = LocalDateTime.now();
+        return true;
+    }
+
+    synchronized void complete(DocumentValidationResponse result) {
+        if (isFinished()) {
+            return;
+        }
+        this.result = result;
+        this.status = Status.COMPLETED;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    synchronized void fail(String error) {
+        if (isFinished()) {
+            return;
+        }
+        this.error = error;
+        this.status = Status.FAILED;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    synchronized boolean cancel() {
+        if (isFinished()) {
+            return false;
+        }
+        this.status = Status.CANCELLED;
+        this.finishedAt = LocalDateTime.now();
+        return true;
+    }
+
+    public synchronized Map<String, Object> toStatusMap() {
+        long processed = fileProgress.values().stream()
+                .filter(s -> !"PENDING".equals(s) && !"PROCESSING".equals(s))
+                .count();
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("jobId", id);
+        map.put("mode", mode);
+        map.put("status", status);
+        map.put("requiredDocuments", requiredDocuments);
+        map.put("totalFiles", fileProgress.size());
+        map.put("processedFiles", processed);
+        map.put("files", new LinkedHashMap<>(fileProgress));
+        map.put("createdAt", createdAt);
+        map.put("startedAt", startedAt);
+        map.put("finishedAt", finishedAt);
+        if (error != null) {
+            map.put("error", error);
+        }
+        return map;
+    }
+}
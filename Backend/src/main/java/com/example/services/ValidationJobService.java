@@ -0,0 +1,207 @@
+package com.example.services;
+
+import com.example.dto.DocumentValidationResponse;
+import com.example.config.VirtualThreads;
+import com.example.dto.ValidationResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs document validations in the background so the HTTP request only uploads the files.
+ * Jobs are kept in memory until they have been finished for longer than the configured TTL.
+ */
+@Service
+public class ValidationJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationJobService.class);
+
+    @Autowired
+    private ContentValidationService contentValidationService;
+
+    private final Map<String, ValidationJob> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+    private final Path storageDir;
+    private final long ttlMinutes;
+
+    public ValidationJobService(int threads, int queueCapacity, long ttlMinutes, String storageDir) {
+        this(threads, queueCapacity, ttlMinutes, storageDir, false);
+    }
+
+    @Autowired
+    public ValidationJobService(@Value("${validation.jobs.threads:2}") int threads,
+                                @Value("${validation.jobs.queue-capacity:20}") int queueCapacity,
+                                @Value("${validation.jobs.ttl-minutes:60}") long ttlMinutes,
+                                @Value("${validation.jobs.storage-dir:}") String storageDir,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.ttlMinutes = ttlMinutes;
+        this.storageDir = storageDir == null || storageDir.isBlank()
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "validation-jobs")
+                : Paths.get(storageDir);
+
+        // Workers mostly wait on OCR futures and file I/O, so they may be virtual; the page OCR itself stays on
+        // OcrService's platform pool. The worker count and queue still bound how many jobs run and wait.
+        boolean virtual = virtualThreads && VirtualThreads.isSupported();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                VirtualThreads.threadFactory(virtualThreads, "validation-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        logger.info("Validation jobs: {} {} worker(s), queue capacity {}, storage {}",
+                threads, virtual ? "virtual" : "platform", queueCapacity, this.storageDir.toAbsolutePath());
+    }
+
+    /**
+     * Copies the uploads to job storage and queues the validation.
+     * Throws RejectedExecutionException when the job queue is full.
+     */
+    public ValidationJob submit(ValidationJob.Mode mode, List<String> requiredDocuments, MultipartFile[] files) throws IOException {
+        String id = UUID.randomUUID().toString();
+        Path workDir = Files.createDirectories(storageDir.resolve(id));
+
+        List<MultipartFile> stored = new ArrayList<>();
+        List<String> fileNames = new ArrayList<>();
+        try {
+            int index = 0;
+            for (MultipartFile file : files) {
+                if (file == null || file.isEmpty()) {
+                    continue;
+                }
+                stored.add(new StoredMultipartFile(file, workDir.resolve("file-" + index++ + ".pdf")));
+                fileNames.add(Optional.ofNullable(file.getOriginalFilename()).orElse("unknown"));
+            }
+        } catch (IOException e) {
+            deleteQuietly(workDir);
+            throw e;
+        }
+
+        ValidationJob job = new ValidationJob(id, mode, requiredDocuments, fileNames, workDir);
+        MultipartFile[] jobFiles = stored.toArray(new MultipartFile[0]);
+
+        jobs.put(id, job);
+        try {
+            job.setFuture(executor.submit(() -> run(job, jobFiles)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(id);
+            deleteQuietly(workDir);
+            throw e;
+        }
+
+        logger.info("Queued validation job {} ({} files, mode {})", id, fileNames.size(), mode);
+        return job;
+    }
+
+    private void run(ValidationJob job, MultipartFile[] files) {
+        if (!job.markRunning()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            ValidationResult result = job.getMode() == ValidationJob.Mode.CONTENT
+                    ? contentValidationService.validateDocumentContent(job.getRequiredDocuments(), files, job::updateFile)
+                    : contentValidationService.validateWithRules(job.getRequiredDocuments(), files, job::updateFile);
+
+            if (Thread.currentThread().isInterrupted()) {
+                job.cancel();
+            } else {
+                job.complete(toResponse(result));
+            }
+        } catch (CancellationException e) {
+            job.cancel();
+        } catch (Exception e) {
+            if (job.getStatus() != ValidationJob.Status.CANCELLED) {
+                logger.error("Validation job {} failed: {}", job.getId(), e.getMessage(), e);
+                job.fail(e.getMessage());
+            }
+        } finally {
+            deleteQuietly(job.getWorkDir());
+            logger.info("Validation job {} finished as {} in {} ms",
+                    job.getId(), job.getStatus(), System.currentTimeMillis() - start);
+        }
+    }
+
+    public Optional<ValidationJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public boolean cancel(String id) {
+        ValidationJob job = jobs.get(id);
+        if (job == null || !job.cancel()) {
+            return false;
+        }
+
+        Future<?> future = job.getFuture();
+        if (future != null) {
+            // Removes a queued job from the executor, or interrupts a running one
+            future.cancel(true);
+            executor.remove((Runnable) future);
+        }
+        if (future == null || future.isDone()) {
+            deleteQuietly(job.getWorkDir());
+        }
+        logger.info("Validation job {} cancelled", id);
+        return true;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeWorkers", executor.getActiveCount());
+        stats.put("maxWorkers", executor.getMaximumPoolSize());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        stats.put("trackedJobs", jobs.size());
+        return stats;
+    }
+
+    // Forget finished jobs once clients have had time to fetch the result
+    @Scheduled(fixedDelay = 60000)
+    public void removeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(ttlMinutes);
+        jobs.values().removeIf(job -> {
+            boolean expired = job.isFinished() && job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff);
+            if (expired) {
+                deleteQuietly(job.getWorkDir());
+            }
+            return expired;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private DocumentValidationResponse toResponse(ValidationResult result) {
+        DocumentValidationResponse response = new DocumentValidationResponse();
+        response.setValid(result.isValid());
+        response.setMessage(result.getMessage());
+        response.setMatchedDocuments(result.getMatchedDocuments());
+        response.setMissingDocuments(result.getMissingDocuments());
+        response.setWarnings(result.getWarnings());
+        response.setDuplicateDocuments(result.getDuplicateDocuments());
+        return response;
+    }
+
+    private void deleteQuietly(Path dir) {
+        try {
+            FileSystemUtils.deleteRecursively(dir);
+        } catch (IOException e) {
+            logger.warn("Could not delete job storage {}: {}", dir, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.services;
+
+/**
+ * Receives per-file progress while ContentValidationService extracts text from uploaded files.
+ */
+@FunctionalInterface
+public interface ValidationProgressListener {
+
+    ValidationProgressListener NONE = (fileName, status) -> { };
+
+    // status is one of PROCESSING, CACHED, DONE, FAILED
+    void onFileStatus(String fileName, String status);
+}
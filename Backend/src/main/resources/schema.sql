@@ -13,7 +13,7 @@ CREATE TABLE IF NOT EXISTS tenders (
     name VARCHAR(255) NOT NULL,
     description TEXT,
     created_by BIGINT,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     status VARCHAR(50) DEFAULT 'OPEN',
     budget DECIMAL(12, 2),
@@ -35,7 +35,7 @@ CREATE TABLE IF NOT EXISTS bidders (
     winning_bids INT DEFAULT 0,
     status VARCHAR(20) DEFAULT 'ACTIVE',
     created_by BIGINT,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     address VARCHAR(500),
     contact_person VARCHAR(100),
@@ -50,10 +50,56 @@ CREATE TABLE IF NOT EXISTS bids (
     bid_amount DECIMAL(12, 2) NOT NULL,
     proposal_text TEXT,
     status VARCHAR(50) DEFAULT 'PENDING',
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     contact_number VARCHAR(20),
     is_winning BOOLEAN DEFAULT false,
     FOREIGN KEY (tender_id) REFERENCES tenders(id),
     FOREIGN KEY (bidder_id) REFERENCES bidders(id)
 );
+
+-- created_at is the keyset cursor, so it can never be NULL: backfill rows written before the
+-- constraint existed, then enforce it on existing databases too
+UPDATE tenders SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
+UPDATE bidders SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
+UPDATE bids SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
+ALTER TABLE tenders ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE bidders ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE bids ALTER COLUMN created_at SET NOT NULL;
+
+-- Indexes for keyset pagination: (created_at, id) is the cursor, so each page is an index range scan
+CREATE INDEX IF NOT EXISTS idx_tenders_created_at_id ON tenders (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tenders_status_created_at_id ON tenders (status, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tenders_created_by_created_at_id ON tenders (created_by, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bidders_created_at_id ON bidders (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bids_tender_created_at_id ON bids (tender_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bids_bidder_created_at_id ON bids (bidder_id, created_at DESC, id DESC);
+-- Date-range scans over all bids (monthly rollup, dashboard month counts); the two above lead with a foreign key
+CREATE INDEX IF NOT EXISTS idx_bids_created_at ON bids (created_at);
+
+-- Deadline lookups for OPEN tenders (deadline scheduler refill and the hourly close)
+CREATE INDEX IF NOT EXISTS idx_tenders_status_deadline ON tenders (status, deadline);
+
+-- Monthly rollup of tenders and bids, rebuilt by MonthlyActivityService so the dashboard's
+-- time-series reads a handful of rows instead of scanning the history
+CREATE TABLE IF NOT EXISTS monthly_activity (
+    month_start DATE PRIMARY KEY,
+    tenders_created BIGINT NOT NULL DEFAULT 0,
+    bids_created BIGINT NOT NULL DEFAULT 0,
+    bid_amount_total DECIMAL(16, 2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Leases for scheduled jobs that must run on one instance at a time (see JobLockService),
+-- plus the outcome of each job's last run
+CREATE TABLE IF NOT EXISTS job_locks (
+    job_name VARCHAR(100) PRIMARY KEY,
+    locked_by VARCHAR(255),
+    locked_until TIMESTAMP,
+    last_started_at TIMESTAMP,
+    last_finished_at TIMESTAMP,
+    last_duration_ms BIGINT,
+    last_status VARCHAR(20),
+    last_error VARCHAR(500),
+    last_run_by VARCHAR(255)
+);
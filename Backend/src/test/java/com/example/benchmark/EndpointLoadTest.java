@@ -0,0 +1,118 @@
+package com.example.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load against a running backend, for comparing platform and virtual request threads.
+ *
+ * Each of {@code concurrency} clients sends GETs back to back, cycling through the given paths, for
+ * {@code seconds} after a short warm-up, then throughput, latency percentiles and errors are printed.
+ * Mix a blocking endpoint (listings, dashboard) with whatever else should be measured, and run it once per mode:
+ * <pre>
+ * mvn spring-boot:run                                                        # platform threads
+ * mvn spring-boot:run -Dspring-boot.run.arguments=--spring.threads.virtual.enabled=true   # JDK 21+
+ *
+ * mvn -q test-compile
+ * java -cp target/test-classes com.example.benchmark.EndpointLoadTest \
+ *     http://localhost:8080 "$TOKEN" 400 30 /api/tenders /api/bids/tender/1 /api/dashboard/data
+ * </pre>
+ * Arguments: base URL, bearer token ("-" for none), concurrency, seconds, then one or more paths.
+ * Use a concurrency above server.tomcat.threads.max to see the platform-thread ceiling.
+ */
+public class EndpointLoadTest {
+
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("usage: EndpointLoadTest <baseUrl> <token|-> <concurrency> <seconds> <path>...");
+            System.exit(2);
+        }
+        String baseUrl = args[0];
+        String token = "-".equals(args[1]) ? null : args[1];
+        int concurrency = Integer.parseInt(args[2]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[3]));
+        List<String> paths = Arrays.asList(args).subList(4, args.length);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.min(concurrency, 64)))
+                .build();
+
+        System.out.printf("Warming up for %ds...%n", WARMUP.toSeconds());
+        run(client, baseUrl, token, paths, concurrency, WARMUP);
+
+        Result result = run(client, baseUrl, token, paths, concurrency, duration);
+        result.print(concurrency, duration);
+        System.exit(0);
+    }
+
+    private static Result run(HttpClient client, String baseUrl, String token, List<String> paths,
+                              int concurrency, Duration duration) throws InterruptedException {
+        Result result = new Result();
+        long endAt = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int c = 0; c < concurrency; c++) {
+            int offset = c;
+            clients.execute(() -> {
+                int i = offset;
+                while (System.nanoTime() < endAt) {
+                    HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + paths.get(i++ % paths.size())))
+                            .timeout(Duration.ofSeconds(30))
+                            .GET();
+                    if (token != null) {
+                        request.header("Authorization", "Bearer " + token);
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+                        result.record(System.nanoTime() - start, response.statusCode() < 400);
+                    } catch (Exception e) {
+                        result.record(System.nanoTime() - start, false);
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        return result;
+    }
+
+    private static final class Result {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        void record(long nanos, boolean ok) {
+            latencies.add(nanos);
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+
+        void print(int concurrency, Duration duration) {
+            List<Long> sorted = new ArrayList<>(latencies);
+            sorted.sort(null);
+            int n = sorted.size();
+            System.out.printf("concurrency=%d requests=%d errors=%d throughput=%.1f req/s%n",
+                    concurrency, n, errors.get(), n / (double) duration.toSeconds());
+            if (n > 0) {
+                System.out.printf("latency ms: p50=%.1f p95=%.1f p99=%.1f max=%.1f%n",
+                        percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                        sorted.get(n - 1) / 1e6);
+            }
+        }
+
+        private static double percentile(List<Long> sorted, double p) {
+            return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(p * sorted.size()) - 1)) / 1e6;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.benchmark;
+
+import com.example.entity.User;
+import com.example.security.CustomUserDetails;
+import com.example.security.CustomUserDetailsService;
+import com.example.security.JwtAuthenticationFilter;
+import com.example.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token.
+ *
+ * {@code legacyDoubleParse} repeats what the filter did before: rebuild the key, parse to validate, rebuild and
+ * parse again for the username (the user lookup that followed is not included). The filter benchmarks run the
+ * real filter in stateless mode with and without the verified-token cache.
+ *
+ * Run after {@code mvn test-compile}:
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.benchmark.JwtFilterBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "3mKp9ZxQvT2Lw8YdHf6BqR1NcUeJ5GsA0rVtX4PnLk7WcS9DjE2FaHbY6QpZtMnK";
+
+    private String token;
+    private JwtAuthenticationFilter uncachedFilter;
+    private JwtAuthenticationFilter cachedFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setup() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 3_600_000L);
+        tokenProvider.init();
+
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("benchmark-user");
+        token = tokenProvider.generateToken(new CustomUserDetails(user));
+
+        uncachedFilter = filter(tokenProvider, false);
+        cachedFilter = filter(tokenProvider, true);
+        request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    private static JwtAuthenticationFilter filter(JwtTokenProvider tokenProvider, boolean cached) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(filter, "userDetailsService", new CustomUserDetailsService());
+        ReflectionTestUtils.setField(filter, "stateless", true);
+        ReflectionTestUtils.setField(filter, "verifiedCacheEnabled", cached);
+        ReflectionTestUtils.setField(filter, "verifiedCacheMaxSize", 10_000L);
+        ReflectionTestUtils.setField(filter, "verifiedCacheTtlSeconds", 300L);
+        filter.init();
+        return filter;
+    }
+
+    @Benchmark
+    public void legacyDoubleParse(Blackhole bh) {
+        SecretKey validateKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        bh.consume(Jwts.parser().verifyWith(validateKey).build().parseSignedClaims(token));
+        SecretKey usernameKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Claims claims = Jwts.parser().verifyWith(usernameKey).build().parseSignedClaims(token).getPayload();
+        bh.consume(claims.getSubject());
+    }
+
+    @Benchmark
+    public Object statelessFilter() throws Exception {
+        return runFilter(uncachedFilter);
+    }
+
+    @Benchmark
+    public Object statelessFilterWithVerifiedCache() throws Exception {
+        return runFilter(cachedFilter);
+    }
+
+    private Object runFilter(JwtAuthenticationFilter filter) throws Exception {
+        // OncePerRequestFilter marks the request as filtered, so clear that between invocations
+        request.clearAttributes();
+        filter.doFilter(request, response, new MockFilterChain());
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.benchmark;
+
+import com.example.services.GrayPagePool;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering one A4 page at 300 DPI into what Tesseract reads, before and after the pooled grayscale path.
+ *
+ * {@code rgbRenderThenGrayCopy} is the previous path: RGB render, a TYPE_BYTE_GRAY copy through Graphics2D, and the
+ * fresh direct buffer tess4j allocates from a BufferedImage. {@code pooledGrayRender} draws straight into a reused
+ * gray buffer and copies it into a reused direct buffer. Run with the GC profiler to see bytes allocated per page
+ * (gc.alloc.rate.norm; the direct buffer is native memory and is not counted there):
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.benchmark.OcrPageRenderBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OcrPageRenderBenchmark {
+
+    private static final int DPI = 300;
+    private static final int MAX_IMAGE_DIMENSION = 4000;
+
+    private PDDocument document;
+    private PDFRenderer renderer;
+    private GrayPagePool pool;
+
+    @Setup
+    public void setup() throws IOException {
+        document = new PDDocument();
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+            content.beginText();
+            content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 11);
+            content.newLineAtOffset(50, 780);
+            content.setLeading(14);
+            for (int line = 0; line < 50; line++) {
+                content.showText("INCOME TAX DEPARTMENT Permanent Account Number ABCDE1234F line " + line);
+                content.newLine();
+            }
+            content.endText();
+            content.addRect(40, 40, 515, 760);
+            content.stroke();
+        }
+        renderer = new PDFRenderer(document);
+        pool = new GrayPagePool(1);
+
+        // The pooled path must produce the same pixels as PDFBox's own grayscale render
+        BufferedImage reference = renderer.renderImageWithDPI(0, DPI, ImageType.GRAY);
+        GrayPagePool.PageBuffer buffer = pool.render(renderer, document, 0, DPI, MAX_IMAGE_DIMENSION);
+        byte[] expected = ((DataBufferByte) reference.getRaster().getDataBuffer()).getData();
+        byte[] actual = ((DataBufferByte) buffer.getImage().getRaster().getDataBuffer()).getData();
+        if (!Arrays.equals(expected, actual)) {
+            throw new IllegalStateException("Pooled render differs from PDFRenderer.renderImage(GRAY)");
+        }
+        pool.release(buffer);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        document.close();
+    }
+
+    @Benchmark
+    public ByteBuffer rgbRenderThenGrayCopy() throws IOException {
+        BufferedImage image = renderer.renderImageWithDPI(0, DPI);
+        BufferedImage gray = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = gray.createGraphics();
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        byte[] pixels = ((DataBufferByte) gray.getRaster().getDataBuffer()).getData();
+        ByteBuffer direct = ByteBuffer.allocateDirect(pixels.length).order(ByteOrder.nativeOrder());
+        direct.put(pixels).flip();
+        return direct;
+    }
+
+    @Benchmark
+    public ByteBuffer pooledGrayRender() throws IOException {
+        GrayPagePool.PageBuffer buffer = pool.render(renderer, document, 0, DPI, MAX_IMAGE_DIMENSION);
+        try {
+            return buffer.pixels();
+        } finally {
+            pool.release(buffer);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OcrPageRenderBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
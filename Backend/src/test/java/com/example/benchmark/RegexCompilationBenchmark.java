@@ -0,0 +1,89 @@
+package com.example.benchmark;
+
+import com.example.services.CompiledRules;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiling the word-boundary and template regexes on every call versus reusing them from {@link CompiledRules}.
+ *
+ * Run after {@code mvn test-compile}:
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.benchmark.RegexCompilationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegexCompilationBenchmark {
+
+    private static final List<String> REQUIRED_DOCUMENTS = List.of(
+            "PAN Card", "Aadhaar Card", "GST Certificate", "Income Tax Return",
+            "Experience Certificate", "Company Registration", "Insurance Certificate");
+
+    private static final List<String> TEMPLATE_PATTERNS = List.of(
+            "[A-Z]{5}[0-9]{4}[A-Z]", "\\d{12}", "\\d{2}[A-Z]{5}\\d{4}[A-Z][A-Z0-9][A-Z]\\d");
+
+    private String content;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            sb.append("INCOME TAX DEPARTMENT GOVT. OF INDIA Permanent Account Number Card ")
+              .append("Name RAMESH KUMAR Father's Name SURESH KUMAR Date of Birth 01/02/1985 ");
+        }
+        sb.append("ABCDE1234F");
+        content = sb.toString();
+    }
+
+    @Benchmark
+    public void containsWordCompilePerCall(Blackhole bh) {
+        for (String doc : REQUIRED_DOCUMENTS) {
+            bh.consume(Pattern.compile("\\b" + Pattern.quote("pan") + "\\b", Pattern.CASE_INSENSITIVE)
+                    .matcher(doc.toLowerCase())
+                    .find());
+        }
+    }
+
+    @Benchmark
+    public void containsWordRegistry(Blackhole bh) {
+        for (String doc : REQUIRED_DOCUMENTS) {
+            bh.consume(CompiledRules.containsWord(doc.toLowerCase(), "pan"));
+        }
+    }
+
+    @Benchmark
+    public void templateNumbersCompilePerCall(Blackhole bh) {
+        for (String regex : TEMPLATE_PATTERNS) {
+            Matcher matcher = Pattern.compile(regex, Pattern.CASE_INSENSITIVE).matcher(content);
+            bh.consume(matcher.find());
+        }
+    }
+
+    @Benchmark
+    public void templateNumbersRegistry(Blackhole bh) {
+        for (String regex : TEMPLATE_PATTERNS) {
+            Matcher matcher = CompiledRules.pattern(regex, Pattern.CASE_INSENSITIVE).matcher(content);
+            bh.consume(matcher.find());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RegexCompilationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.config;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(CacheConfig.class)
+            .withPropertyValues(
+                    "app.cache.defaults.max-size=50",
+                    "app.cache.defaults.ttl=1m",
+                    "app.cache.regions.allTenders.max-weight=3",
+                    "app.cache.regions.tenderById.ttl=30m");
+
+    @Test
+    void regions_shouldUseTheirOwnLimitsOrTheDefaults() {
+        contextRunner.run(context -> {
+            CacheManager cacheManager = context.getBean(CacheManager.class);
+
+            Policy.Eviction<Object, Object> allTenders = policy(cacheManager, "allTenders").eviction().orElseThrow();
+            assertTrue(allTenders.isWeighted());
+            assertEquals(3, allTenders.getMaximum());
+
+            Policy<Object, Object> tenderById = policy(cacheManager, "tenderById");
+            assertEquals(50, tenderById.eviction().orElseThrow().getMaximum());
+            assertEquals(Duration.ofMinutes(30), tenderById.expireAfterWrite().orElseThrow().getExpiresAfter());
+
+            assertEquals(Duration.ofMinutes(1),
+                    policy(cacheManager, "bidStats").expireAfterWrite().orElseThrow().getExpiresAfter());
+        });
+    }
+
+    @Test
+    void weightedRegion_shouldNotKeepListsLargerThanItsLimitAndRecordStats() {
+        contextRunner.run(context -> {
+            CaffeineCache cache = (CaffeineCache) context.getBean(CacheManager.class).getCache("allTenders");
+
+            cache.put("small", List.of(1, 2));
+            cache.put("large", List.of(1, 2, 3, 4));
+            cache.getNativeCache().cleanUp();
+
+            assertNotNull(cache.get("small"));
+            assertNull(cache.get("large"));
+            assertEquals(1, cache.getNativeCache().stats().hitCount());
+            assertEquals(1, cache.getNativeCache().stats().missCount());
+        });
+    }
+
+    private static Policy<Object, Object> policy(CacheManager cacheManager, String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache().policy();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaleWhileRevalidateCacheTest {
+
+    private static StaleWhileRevalidateCache cache(Duration refreshAfter, Executor executor) {
+        return new StaleWhileRevalidateCache("test", Caffeine.newBuilder().build(), true, refreshAfter, executor);
+    }
+
+    @Test
+    void concurrentMisses_shouldRunTheLoaderOnce() throws Exception {
+        StaleWhileRevalidateCache cache = cache(Duration.ofMinutes(1), Runnable::run);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            results.add(callers.submit(() -> {
+                start.await();
+                return cache.get("dashboard", () -> {
+                    loads.incrementAndGet();
+                    Thread.sleep(100);
+                    return "loaded";
+                });
+            }));
+        }
+        start.countDown();
+        for (Future<String> result : results) {
+            assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+        }
+        callers.shutdown();
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void staleEntry_shouldBeServedWhileOneReloadReplacesIt() throws Exception {
+        List<Runnable> pending = new ArrayList<>();
+        StaleWhileRevalidateCache cache = cache(Duration.ofMillis(1), pending::add);
+        cache.setReloader(key -> "v2");
+        cache.put("allTenders", "v1");
+        Thread.sleep(5);
+
+        assertEquals("v1", cache.get("allTenders", () -> "from-caller"));
+        assertEquals("v1", cache.get("allTenders", String.class));
+        assertEquals(1, pending.size(), "only one reload per key at a time");
+
+        pending.get(0).run();
+        assertEquals("v2", cache.get("allTenders", String.class));
+    }
+
+    @Test
+    void staleEntry_withoutReloader_shouldNotReplayTheCallersLoader() throws Exception {
+        List<Runnable> pending = new ArrayList<>();
+        StaleWhileRevalidateCache cache = cache(Duration.ofMillis(1), pending::add);
+        cache.put("allTenders", "v1");
+        Thread.sleep(5);
+
+        assertEquals("v1", cache.get("allTenders", () -> "from-caller"));
+        assertTrue(pending.isEmpty());
+    }
+
+    @Test
+    void reload_shouldNotResurrectAnEntryEvictedByAWrite() throws Exception {
+        List<Runnable> pending = new ArrayList<>();
+        StaleWhileRevalidateCache cache = cache(Duration.ofMillis(1), pending::add);
+        cache.setReloader(key -> "loaded-before-write");
+        cache.put("allTenders", "v1");
+        Thread.sleep(5);
+
+        cache.get("allTenders", String.class);
+        cache.evict("allTenders");
+        pending.get(0).run();
+
+        assertNull(cache.get("allTenders"));
+    }
+
+    @Test
+    void failedReload_shouldKeepServingTheCachedValue() throws Exception {
+        StaleWhileRevalidateCache cache = cache(Duration.ofMillis(1), Runnable::run);
+        cache.setReloader(key -> {
+            throw new IllegalStateException("database down");
+        });
+        cache.put("dashboard", "v1");
+        Thread.sleep(5);
+
+        assertEquals("v1", cache.get("dashboard", () -> "from-caller"));
+        assertEquals("v1", cache.get("dashboard", String.class));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.controller;
+
+import com.example.dto.LoginRequest;
+import com.example.services.AuthServices;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatWebServerFactoryCustomizer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the login handler behind embedded Tomcat configured from application.properties, so the address the
+ * throttle sees is the one the forwarded-headers setup resolves.
+ */
+class AuthControllerClientIpTest {
+
+    private final AuthServices authServices = mock(AuthServices.class);
+    private final HttpClient client = HttpClient.newHttpClient();
+    private WebServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new PropertiesPropertySource("application",
+                PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"))));
+        ServerProperties serverProperties = Binder.get(environment)
+                .bind("server", ServerProperties.class).orElseGet(ServerProperties::new);
+
+        AuthController controller = new AuthController();
+        ReflectionTestUtils.setField(controller, "authServices", authServices);
+        when(authServices.login(any(), anyString())).thenReturn(Map.of("success", true));
+
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        new TomcatWebServerFactoryCustomizer(environment, serverProperties).customize(factory);
+        server = factory.getWebServer(context -> context.addServlet("login", new HttpServlet() {
+            @Override
+            protected void doPost(HttpServletRequest request, HttpServletResponse response) {
+                controller.login(new LoginRequest("alice", "secret"), request);
+            }
+        }).addMapping("/login"));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void loginViaTrustedProxy_shouldThrottleOnTheForwardedClientAddress() throws Exception {
+        post("X-Forwarded-For", "203.0.113.7, 10.0.0.5");
+
+        // The test connects over loopback, which the default internal-proxies list trusts
+        verify(authServices).login(any(), eq("203.0.113.7"));
+    }
+
+    @Test
+    void loginWithoutForwardedHeader_shouldUseTheConnectionAddress() throws Exception {
+        post(null, null);
+
+        verify(authServices).login(any(), eq("127.0.0.1"));
+    }
+
+    private void post(String header, String value) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/login"))
+                .POST(HttpRequest.BodyPublishers.noBody());
+        if (header != null) {
+            request.header(header, value);
+        }
+        client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.security;
+
+import com.example.entity.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "3mKp9ZxQvT2Lw8YdHf6BqR1NcUeJ5GsA0rVtX4PnLk7WcS9DjE2FaHbY6QpZtMnK";
+
+    private final JwtTokenProvider tokenProvider = new JwtTokenProvider();
+    private final CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+
+    JwtAuthenticationFilterTest() {
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 3_600_000L);
+        tokenProvider.init();
+        ReflectionTestUtils.setField(filter, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "stateless", true);
+        ReflectionTestUtils.setField(filter, "verifiedCacheEnabled", true);
+        ReflectionTestUtils.setField(filter, "verifiedCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(filter, "verifiedCacheTtlSeconds", 300L);
+        filter.init();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokenWithClaims_shouldAuthenticateWithoutLoadingTheUser() throws Exception {
+        String token = tokenProvider.generateToken(new CustomUserDetails(user(7L, "alice")));
+
+        Authentication authentication = filter(token);
+
+        CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
+        assertEquals(7L, principal.getUserId());
+        assertEquals("alice", principal.getUsername());
+        assertEquals("ROLE_USER", authentication.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void legacyTokenWithoutClaims_shouldFallBackToLoadingTheUser() throws Exception {
+        String token = Jwts.builder()
+                .subject("bob")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        when(userDetailsService.loadUserByUsername("bob")).thenReturn(new CustomUserDetails(user(8L, "bob")));
+
+        Authentication authentication = filter(token);
+
+        assertEquals(8L, ((CustomUserDetails) authentication.getPrincipal()).getUserId());
+        verify(userDetailsService).loadUserByUsername("bob");
+    }
+
+    @Test
+    void tamperedToken_shouldNotAuthenticate() throws Exception {
+        String token = tokenProvider.generateToken(new CustomUserDetails(user(7L, "alice")));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertNull(filter(tampered));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void configuredAdmin_shouldCarryAdminRoleThroughTheToken() throws Exception {
+        CustomUserDetailsService roles = new CustomUserDetailsService();
+        roles.setAdminUsernames("ops, root");
+
+        Authentication admin = filter(tokenProvider.generateToken(roles.forUser(user(1L, "root"))));
+        Authentication user = filter(tokenProvider.generateToken(roles.forUser(user(2L, "alice"))));
+
+        assertTrue(admin.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+        assertTrue(user.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+    }
+
+    private Authentication filter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+}
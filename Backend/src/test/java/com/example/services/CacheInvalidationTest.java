@@ -0,0 +1,300 @@
+package com.example.services;
+
+import com.example.config.CacheConfig;
+import com.example.dto.BidRequest;
+import com.example.dto.BidWithBidderResponse;
+import com.example.dto.BidWithTenderResponse;
+import com.example.dto.BidderRequest;
+import com.example.entity.Bid;
+import com.example.entity.Bidder;
+import com.example.entity.Tender;
+import com.example.repository.BidRepository;
+import com.example.repository.BidderRepository;
+import com.example.repository.TenderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the services behind the real cache manager, with repositories backed by an in-memory store that
+ * hands out copies (like a database would), so a missed eviction shows up as a stale read.
+ */
+@SpringJUnitConfig(classes = {CacheConfig.class, CacheInvalidator.class,
+        BidService.class, BidderService.class, TenderService.class})
+class CacheInvalidationTest {
+
+    @MockitoBean
+    private BidRepository bidRepository;
+
+    @MockitoBean
+    private BidderRepository bidderRepository;
+
+    @MockitoBean
+    private TenderRepository tenderRepository;
+
+    @MockitoBean
+    private DashboardAggregateStore dashboardAggregateStore;
+
+    @MockitoBean
+    private TenderDeadlineScheduler tenderDeadlineScheduler;
+
+    @MockitoBean
+    private JobLockService jobLockService;
+
+    @Autowired
+    private BidService bidService;
+
+    @Autowired
+    private BidderService bidderService;
+
+    @Autowired
+    private TenderService tenderService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final Map<Long, Bid> bids = new ConcurrentHashMap<>();
+    private final Map<Long, Bidder> bidders = new ConcurrentHashMap<>();
+    private final Map<Long, Tender> tenders = new ConcurrentHashMap<>();
+    private final AtomicLong nextBidId = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        bids.clear();
+        bidders.clear();
+        tenders.clear();
+
+        tenders.put(1L, tender(1L, "Road works", 7L));
+        tenders.put(2L, tender(2L, "Bridge repair", 7L));
+        bidders.put(10L, bidder(10L, "Acme"));
+        bidders.put(20L, bidder(20L, "Globex"));
+        bids.put(1L, bid(1L, 1L, 10L));
+        bids.put(2L, bid(2L, 2L, 20L));
+        bids.put(3L, bid(3L, 2L, 10L));
+
+        when(bidRepository.findById(anyLong())).thenAnswer(inv -> Optional.ofNullable(bids.get(inv.<Long>getArgument(0))).map(CacheInvalidationTest::copy));
+        when(bidRepository.findByTenderId(anyLong())).thenAnswer(inv -> bids.values().stream()
+                .filter(b -> b.getTenderId().equals(inv.getArgument(0))).map(CacheInvalidationTest::copy).toList());
+        when(bidRepository.findByBidderId(anyLong())).thenAnswer(inv -> bids.values().stream()
+                .filter(b -> b.getBidderId().equals(inv.getArgument(0))).map(CacheInvalidationTest::copy).toList());
+        when(bidRepository.save(any(Bid.class))).thenAnswer(inv -> {
+            Bid bid = inv.getArgument(0);
+            if (bid.getId() == null) {
+                bid.setId(nextBidId.incrementAndGet());
+            }
+            bids.put(bid.getId(), copy(bid));
+            return bid;
+        });
+        when(bidRepository.findTenderIdsByBidderId(anyLong())).thenAnswer(inv -> bids.values().stream()
+                .filter(b -> b.getBidderId().equals(inv.getArgument(0))).map(Bid::getTenderId).distinct().toList());
+        when(bidRepository.findBidderIdsByTenderId(anyLong())).thenAnswer(inv -> bids.values().stream()
+                .filter(b -> b.getTenderId().equals(inv.getArgument(0))).map(Bid::getBidderId).distinct().toList());
+        when(bidRepository.getBidStats(anyLong())).thenAnswer(inv -> {
+            BidRepository.BidStats stats = mock(BidRepository.BidStats.class);
+            when(stats.getTotal()).thenReturn(bids.values().stream().filter(b -> b.getTenderId().equals(inv.getArgument(0))).count());
+            return stats;
+        });
+        when(bidRepository.findBidsWithBidderDetails(anyLong())).thenAnswer(inv -> bids.values().stream()
+                .filter(b -> b.getTenderId().equals(inv.getArgument(0))).map(this::withBidder).toList());
+        when(bidRepository.findBidsWithTenderDetails(anyLong())).thenAnswer(inv -> bids.values().stream()
+                .filter(b -> b.getBidderId().equals(inv.getArgument(0))).map(this::withTender).toList());
+
+        when(bidderRepository.findById(anyLong())).thenAnswer(inv -> Optional.ofNullable(bidders.get(inv.<Long>getArgument(0))).map(CacheInvalidationTest::copy));
+        when(bidderRepository.save(any(Bidder.class))).thenAnswer(inv -> {
+            Bidder bidder = inv.getArgument(0);
+            bidders.put(bidder.getId(), copy(bidder));
+            return bidder;
+        });
+
+        when(tenderRepository.findById(anyLong())).thenAnswer(inv -> Optional.ofNullable(tenders.get(inv.<Long>getArgument(0))).map(CacheInvalidationTest::copy));
+        when(tenderRepository.save(any(Tender.class))).thenAnswer(inv -> {
+            Tender tender = inv.getArgument(0);
+            tenders.put(tender.getId(), copy(tender));
+            return tender;
+        });
+    }
+
+    @Test
+    void bidStatusChange_shouldRefreshOnlyThatTendersAndBiddersEntries() {
+        bidService.getBidsByTender(1L);
+        bidService.getBidsByTender(2L);
+        bidService.getBidsByBidder(10L);
+        bidService.getBidsByBidder(20L);
+        bidService.getBidById(1L);
+        bidService.getBidById(2L);
+
+        bidService.updateBidStatus(1L, "REJECTED");
+
+        assertEquals("REJECTED", bidService.getBidsByTender(1L).get(0).getStatus());
+        assertEquals("REJECTED", bidService.getBidById(1L).getStatus());
+        assertTrue(bidService.getBidsByBidder(10L).stream()
+                .anyMatch(b -> b.getId().equals(1L) && "REJECTED".equals(b.getStatus())));
+
+        // Untouched tender, bidder and bid are still served from the cache
+        assertNotNull(cached("bidsByTender", 2L));
+        assertNotNull(cached("bidsByBidder", 20L));
+        assertNotNull(cached("bidDetails", 2L));
+        verify(bidRepository, times(1)).findByTenderId(2L);
+        verify(bidRepository, times(1)).findByBidderId(20L);
+    }
+
+    @Test
+    void approvingBid_shouldRefreshTheOtherBiddersItRejected() {
+        bids.put(4L, bid(4L, 2L, 20L));
+        bidService.getBidsByBidder(20L);
+        bidService.getBidById(2L);
+
+        bidService.updateBidStatus(3L, "APPROVED");
+
+        assertEquals("REJECTED", bidService.getBidById(2L).getStatus());
+        assertTrue(bidService.getBidsByBidder(20L).stream().allMatch(b -> "REJECTED".equals(b.getStatus())));
+    }
+
+    @Test
+    void createBid_shouldRefreshTenderListsAndBidderCounters() {
+        assertEquals(1, bidService.getBidsByTender(1L).size());
+        assertEquals(0, bidderService.getBidderById(20L).getTotalBids());
+        bidService.getBidStats(1L);
+
+        BidRequest request = new BidRequest();
+        request.setTenderId(1L);
+        request.setBidderId(20L);
+        request.setBidAmount(new BigDecimal("500"));
+        assertEquals(true, bidService.createBid(request).get("success"));
+
+        assertEquals(2, bidService.getBidsByTender(1L).size());
+        assertEquals(2L, bidService.getBidStats(1L).get("totalBids"));
+        assertEquals(1, bidderService.getBidderById(20L).getTotalBids());
+    }
+
+    @Test
+    void bidderProfileChange_shouldRefreshTenderBidListsShowingIt() {
+        assertEquals("Acme", bidService.getBidsWithBidderDetails(1L).get(0).getBidderCompanyName());
+        bidService.getBidsWithBidderDetails(2L);
+        assertEquals("Acme", bidderService.getBidderById(10L).getCompanyName());
+
+        BidderRequest request = new BidderRequest();
+        request.setCompanyName("Acme Infra");
+        bidderService.updateBidder(10L, 7L, request);
+
+        assertEquals("Acme Infra", bidService.getBidsWithBidderDetails(1L).get(0).getBidderCompanyName());
+        assertTrue(bidService.getBidsWithBidderDetails(2L).stream()
+                .filter(b -> b.getBidderId().equals(10L))
+                .allMatch(b -> "Acme Infra".equals(b.getBidderCompanyName())));
+        assertEquals("Acme Infra", bidderService.getBidderById(10L).getCompanyName());
+    }
+
+    @Test
+    void tenderStatusChange_shouldRefreshBidderViewsOfThatTenderOnly() {
+        assertEquals("OPEN", bidService.getBidsWithTenderDetails(10L).get(0).getTenderStatus());
+        bidService.getBidsWithTenderDetails(20L);
+        tenderService.getTenderById(1L);
+        tenderService.getTenderById(2L);
+
+        tenderService.updateTenderStatus(1L, "CLOSED");
+
+        assertTrue(bidService.getBidsWithTenderDetails(10L).stream()
+                .filter(b -> b.getTenderId().equals(1L))
+                .allMatch(b -> "CLOSED".equals(b.getTenderStatus())));
+        assertEquals("CLOSED", tenderService.getTenderById(1L).getStatus());
+
+        // Bidder 20 never bid on tender 1, and tender 2 did not change
+        assertNotNull(cached("bidsWithTenders", 20L));
+        assertNotNull(cached("tenderById", 2L));
+    }
+
+    private Object cached(String cacheName, Object key) {
+        Cache.ValueWrapper value = cacheManager.getCache(cacheName).get(key);
+        return value != null ? value.get() : null;
+    }
+
+    private BidWithBidderResponse withBidder(Bid bid) {
+        Bidder bidder = bidders.get(bid.getBidderId());
+        BidWithBidderResponse response = new BidWithBidderResponse();
+        response.setBidId(bid.getId());
+        response.setTenderId(bid.getTenderId());
+        response.setBidderId(bid.getBidderId());
+        response.setBidderCompanyName(bidder.getCompanyName());
+        response.setStatus(bid.getStatus());
+        return response;
+    }
+
+    private BidWithTenderResponse withTender(Bid bid) {
+        Tender tender = tenders.get(bid.getTenderId());
+        BidWithTenderResponse response = new BidWithTenderResponse();
+        response.setBidId(bid.getId());
+        response.setBidderId(bid.getBidderId());
+        response.setTenderId(tender.getId());
+        response.setTenderName(tender.getName());
+        response.setTenderStatus(tender.getStatus());
+        return response;
+    }
+
+    private static Tender tender(Long id, String name, Long createdBy) {
+        Tender tender = new Tender();
+        tender.setId(id);
+        tender.setName(name);
+        tender.setStatus("OPEN");
+        tender.setCreatedBy(createdBy);
+        return tender;
+    }
+
+    private static Bidder bidder(Long id, String companyName) {
+        Bidder bidder = new Bidder();
+        bidder.setId(id);
+        bidder.setCompanyName(companyName);
+        bidder.setEmail(companyName.toLowerCase() + "@example.com");
+        bidder.setCreatedBy(7L);
+        return bidder;
+    }
+
+    private static Bid bid(Long id, Long tenderId, Long bidderId) {
+        Bid bid = new Bid();
+        bid.setId(id);
+        bid.setTenderId(tenderId);
+        bid.setBidderId(bidderId);
+        bid.setBidAmount(new BigDecimal("1000"));
+        return bid;
+    }
+
+    private static Bid copy(Bid source) {
+        Bid bid = bid(source.getId(), source.getTenderId(), source.getBidderId());
+        bid.setBidAmount(source.getBidAmount());
+        bid.setStatus(source.getStatus());
+        bid.setIsWinning(source.getIsWinning());
+        return bid;
+    }
+
+    private static Bidder copy(Bidder source) {
+        Bidder bidder = bidder(source.getId(), source.getCompanyName());
+        bidder.setEmail(source.getEmail());
+        bidder.setCreatedBy(source.getCreatedBy());
+        bidder.setTotalBids(source.getTotalBids());
+        bidder.setWinningBids(source.getWinningBids());
+        return bidder;
+    }
+
+    private static Tender copy(Tender source) {
+        Tender tender = tender(source.getId(), source.getName(), source.getCreatedBy());
+        tender.setStatus(source.getStatus());
+        tender.setDeadline(source.getDeadline());
+        return tender;
+    }
+}
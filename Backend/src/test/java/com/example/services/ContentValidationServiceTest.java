@@ -8,14 +8,25 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +41,12 @@ class ContentValidationServiceTest {
     @Mock
     private DuplicateDetector duplicateDetector;
 
+    @Mock
+    private OcrResultCache ocrResultCache;
+
+    @Spy
+    private UploadSpooler uploadSpooler = new UploadSpooler(null);
+
     @InjectMocks
     private ContentValidationService contentValidationService;
 
@@ -38,13 +55,41 @@ class ContentValidationServiceTest {
         when(duplicateDetector.getDuplicateFileNames(any())).thenReturn(new ArrayList<>());
     }
 
+    private static MultipartFile pdf(String name) {
+        return new MockMultipartFile("files", name, "application/pdf",
+                ("%PDF-1.4 " + name).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void validateWithRules_ocrReadsTheSpooledCopyAndCachesByContentHash() throws Exception {
+        MultipartFile file = pdf("pan.pdf");
+        String expectedHash = DuplicateDetector.toHex(MessageDigest.getInstance("MD5").digest(file.getBytes()));
+
+        AtomicReference<Path> ocrPath = new AtomicReference<>();
+        when(ocrService.extractTextFromFile(any(Path.class), eq("pan.pdf"), eq(file.getSize()))).thenAnswer(inv -> {
+            Path path = inv.getArgument(0);
+            ocrPath.set(path);
+            // OCR must see the full upload on disk, not a stream
+            assertArrayEquals(file.getBytes(), Files.readAllBytes(path));
+            return "INCOME TAX DEPARTMENT - PAN CARD";
+        });
+
+        ValidationResult result = contentValidationService.validateWithRules(Arrays.asList("PAN"), new MultipartFile[]{file});
+
+        assertTrue(result.isValid());
+        verify(ocrResultCache).get(expectedHash);
+        verify(ocrResultCache).put(expectedHash, "INCOME TAX DEPARTMENT - PAN CARD");
+        verify(ocrService, never()).extractText(any());
+        verify(duplicateDetector, never()).contentHash(any());
+        assertNotNull(ocrPath.get());
+        assertFalse(Files.exists(ocrPath.get()), "spooled temp file should be deleted after OCR");
+    }
+
     @Test
     void validateWithRules_panKeywordShouldValidate() {
-        MultipartFile file = org.mockito.Mockito.mock(MultipartFile.class);
-        when(file.isEmpty()).thenReturn(false);
-        when(file.getOriginalFilename()).thenReturn("document.pdf");
+        MultipartFile file = pdf("document.pdf");
 
-        when(ocrService.extractText(any())).thenReturn("INCOME TAX DEPARTMENT - PAN CARD");
+        when(ocrService.extractTextFromFile(any(Path.class), anyString(), anyLong())).thenReturn("INCOME TAX DEPARTMENT - PAN CARD");
 
         List<String> required = Arrays.asList("PAN");
         ValidationResult result = contentValidationService.validateWithRules(required, new MultipartFile[]{file});
@@ -56,13 +101,11 @@ class ContentValidationServiceTest {
 
     @Test
     void validateWithRules_companyRegDocShouldNotValidatePanWithoutPanContext() {
-        MultipartFile file = org.mockito.Mockito.mock(MultipartFile.class);
-        when(file.isEmpty()).thenReturn(false);
-        when(file.getOriginalFilename()).thenReturn("company_reg.pdf");
+        MultipartFile file = pdf("company_reg.pdf");
 
         // Simulate company registration content containing a PAN-like token,
         // but without PAN-specific context like "income tax" / "permanent account number".
-        when(ocrService.extractText(any())).thenReturn(
+        when(ocrService.extractTextFromFile(any(Path.class), anyString(), anyLong())).thenReturn(
                 "CERTIFICATE OF INCORPORATION\n" +
                 "Ministry of Corporate Affairs\n" +
                 "CIN: U12345DL2010PLC123456\n" +
@@ -77,12 +120,10 @@ class ContentValidationServiceTest {
 
     @Test
     void validateWithRules_gstDocShouldNotValidatePan() {
-        MultipartFile file = org.mockito.Mockito.mock(MultipartFile.class);
-        when(file.isEmpty()).thenReturn(false);
-        when(file.getOriginalFilename()).thenReturn("gst.pdf");
+        MultipartFile file = pdf("gst.pdf");
 
         // Typical GSTIN contains PAN-like substring, but this document should classify as GST.
-        when(ocrService.extractText(any())).thenReturn(
+        when(ocrService.extractTextFromFile(any(Path.class), anyString(), anyLong())).thenReturn(
                 "GST REGISTRATION CERTIFICATE\n" +
                 "GSTIN: 27ABCDE1234F1Z5\n" +
                 "Goods and Services Tax\n"
@@ -98,11 +139,9 @@ class ContentValidationServiceTest {
 
     @Test
     void validateWithRules_whenNoMatchShouldBeMissing() {
-        MultipartFile file = org.mockito.Mockito.mock(MultipartFile.class);
-        when(file.isEmpty()).thenReturn(false);
-        when(file.getOriginalFilename()).thenReturn("random.pdf");
+        MultipartFile file = pdf("random.pdf");
 
-        when(ocrService.extractText(any())).thenReturn("This document is a bank statement.");
+        when(ocrService.extractTextFromFile(any(Path.class), anyString(), anyLong())).thenReturn("This document is a bank statement.");
 
         List<String> required = Arrays.asList("PAN");
         ValidationResult result = contentValidationService.validateWithRules(required, new MultipartFile[]{file});
@@ -113,11 +152,9 @@ class ContentValidationServiceTest {
 
     @Test
     void validateWithRules_aadhaarDocShouldValidateOnlyAadhaar() {
-        MultipartFile file = org.mockito.Mockito.mock(MultipartFile.class);
-        when(file.isEmpty()).thenReturn(false);
-        when(file.getOriginalFilename()).thenReturn("aadhaar.pdf");
+        MultipartFile file = pdf("aadhaar.pdf");
 
-        when(ocrService.extractText(any())).thenReturn(
+        when(ocrService.extractTextFromFile(any(Path.class), anyString(), anyLong())).thenReturn(
                 "Government of India\n" +
                 "UIDAI\n" +
                 "Aadhaar Number: 1234 5678 9012\n" +
@@ -138,11 +175,9 @@ class ContentValidationServiceTest {
 
     @Test
     void validateWithRules_incomeTaxClearanceShouldValidateOnlyIncomeTax() {
-        MultipartFile file = org.mockito.Mockito.mock(MultipartFile.class);
-        when(file.isEmpty()).thenReturn(false);
-        when(file.getOriginalFilename()).thenReturn("income_tax.pdf");
+        MultipartFile file = pdf("income_tax.pdf");
 
-        when(ocrService.extractText(any())).thenReturn(
+        when(ocrService.extractTextFromFile(any(Path.class), anyString(), anyLong())).thenReturn(
                 "INCOME TAX CLEARANCE CERTIFICATE\n" +
                 "Return of Income\n" +
                 "Assessment Year: 2024-25\n" +
@@ -162,11 +197,9 @@ class ContentValidationServiceTest {
 
     @Test
     void validateWithRules_experienceCertificateShouldValidateOnlyExperience() {
-        MultipartFile file = org.mockito.Mockito.mock(MultipartFile.class);
-        when(file.isEmpty()).thenReturn(false);
-        when(file.getOriginalFilename()).thenReturn("experience.pdf");
+        MultipartFile file = pdf("experience.pdf");
 
-        when(ocrService.extractText(any())).thenReturn(
+        when(ocrService.extractTextFromFile(any(Path.class), anyString(), anyLong())).thenReturn(
                 "EXPERIENCE CERTIFICATE\n" +
                 "This is to certify that Mr. Test User worked as Software Engineer\n" +
                 "From 01/01/2020 to 01/01/2024.\n" +
@@ -185,12 +218,10 @@ class ContentValidationServiceTest {
 
     @Test
     void validateWithRules_experienceCertificateShouldValidateEvenWithoutExactPhrase() {
-        MultipartFile file = org.mockito.Mockito.mock(MultipartFile.class);
-        when(file.isEmpty()).thenReturn(false);
-        when(file.getOriginalFilename()).thenReturn("scan_001.pdf");
+        MultipartFile file = pdf("scan_001.pdf");
 
         // No exact "experience certificate" phrase; should still be classified as EXPERIENCE.
-        when(ocrService.extractText(any())).thenReturn(
+        when(ocrService.extractTextFromFile(any(Path.class), anyString(), anyLong())).thenReturn(
                 "To Whom It May Concern\n" +
                 "This is to certify that Mr. Test User has worked as Site Engineer\n" +
                 "from 01/01/2020 to 01/01/2024.\n" +
@@ -209,11 +240,9 @@ class ContentValidationServiceTest {
 
     @Test
     void validateWithRules_insuranceCertificateShouldValidateOnlyInsurance() {
-        MultipartFile file = org.mockito.Mockito.mock(MultipartFile.class);
-        when(file.isEmpty()).thenReturn(false);
-        when(file.getOriginalFilename()).thenReturn("insurance.pdf");
+        MultipartFile file = pdf("insurance.pdf");
 
-        when(ocrService.extractText(any())).thenReturn(
+        when(ocrService.extractTextFromFile(any(Path.class), anyString(), anyLong())).thenReturn(
                 "INSURANCE CERTIFICATE\n" +
                 "Policy Number: POL123456\n" +
                 "Insurance Company: ABC Insurance Co\n" +
@@ -232,11 +261,9 @@ class ContentValidationServiceTest {
 
     @Test
     void validateWithRules_companyRegShouldValidateOnlyCompanyRegEvenIfContainsPanLikeToken() {
-        MultipartFile file = org.mockito.Mockito.mock(MultipartFile.class);
-        when(file.isEmpty()).thenReturn(false);
-        when(file.getOriginalFilename()).thenReturn("company_reg.pdf");
+        MultipartFile file = pdf("company_reg.pdf");
 
-        when(ocrService.extractText(any())).thenReturn(
+        when(ocrService.extractTextFromFile(any(Path.class), anyString(), anyLong())).thenReturn(
                 "CERTIFICATE OF INCORPORATION\n" +
                 "Ministry of Corporate Affairs\n" +
                 "CIN: U12345DL2010PLC123456\n" +
@@ -0,0 +1,154 @@
+package com.example.services;
+
+import com.example.dto.DashboardResponse;
+import com.example.entity.Bid;
+import com.example.entity.Tender;
+import com.example.repository.BidRepository;
+import com.example.repository.BidderRepository;
+import com.example.repository.TenderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardAggregateStoreTest {
+
+    @Mock
+    private TenderRepository tenderRepository;
+
+    @Mock
+    private BidRepository bidRepository;
+
+    @Mock
+    private BidderRepository bidderRepository;
+
+    @InjectMocks
+    private DashboardAggregateStore store;
+
+    private final YearMonth thisMonth = YearMonth.now();
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> tenderCounts = new ArrayList<>();
+        tenderCounts.add(new Object[]{"OPEN", 3L});
+        tenderCounts.add(new Object[]{"CLOSED", 2L});
+        List<Object[]> bidCounts = new ArrayList<>();
+        bidCounts.add(new Object[]{"PENDING", 4L});
+        bidCounts.add(new Object[]{"WINNING", 1L});
+        List<Object[]> bidderCounts = new ArrayList<>();
+        bidderCounts.add(new Object[]{"ACTIVE", 6L});
+        List<Object[]> tenderMonths = new ArrayList<>();
+        tenderMonths.add(new Object[]{thisMonth.getYear(), thisMonth.getMonthValue(), 5L});
+
+        when(tenderRepository.countByStatusGrouped()).thenReturn(tenderCounts);
+        when(bidRepository.countByStatusGrouped()).thenReturn(bidCounts);
+        when(bidderRepository.countByStatusGrouped()).thenReturn(bidderCounts);
+        when(tenderRepository.countCreatedPerMonthSince(any())).thenReturn(tenderMonths);
+        when(bidRepository.countCreatedPerMonthSince(any())).thenReturn(new ArrayList<>());
+        when(tenderRepository.findRecentTenders(any(Pageable.class))).thenReturn(new ArrayList<>());
+        when(bidRepository.findRecentBidsWithTenderName(any(Pageable.class))).thenReturn(new ArrayList<>());
+        when(bidderRepository.findRecentBidders(any(Pageable.class))).thenReturn(new ArrayList<>());
+    }
+
+    @Test
+    void firstSnapshot_shouldLoadCountersAndMonthlySeries() {
+        DashboardResponse snapshot = store.getSnapshot();
+
+        assertEquals(5L, snapshot.getTotalTenders());
+        assertEquals(3L, snapshot.getOpenTenders());
+        assertEquals(1L, snapshot.getApprovedBids());
+        assertEquals(6L, snapshot.getActiveBidders());
+        assertEquals(6, snapshot.getMonthlyTenders().size());
+        assertEquals(5L, snapshot.getMonthlyTenders().get(5).getCount());
+        assertEquals(0L, snapshot.getMonthlyTenders().get(0).getCount());
+    }
+
+    @Test
+    void writes_shouldAdjustSnapshotWithoutRecounting() {
+        store.getSnapshot();
+
+        Tender tender = new Tender();
+        tender.setStatus("OPEN");
+        tender.setCreatedAt(LocalDateTime.now());
+        store.tenderCreated(tender);
+        store.tenderStatusChanged("OPEN", "CLOSED");
+        Bid bid = new Bid();
+        bid.setStatus("PENDING");
+        bid.setCreatedAt(LocalDateTime.now());
+        store.bidCreated(bid);
+        store.bidStatusChanged("PENDING", "APPROVED");
+
+        DashboardResponse snapshot = store.getSnapshot();
+
+        assertEquals(6L, snapshot.getTotalTenders());
+        assertEquals(3L, snapshot.getOpenTenders());
+        assertEquals(3L, snapshot.getClosedTenders());
+        assertEquals(6L, snapshot.getTotalBids());
+        assertEquals(4L, snapshot.getPendingBids());
+        assertEquals(2L, snapshot.getApprovedBids());
+        assertEquals(6L, snapshot.getMonthlyTenders().get(5).getCount());
+        assertEquals(1L, snapshot.getMonthlyBids().get(5).getCount());
+        verify(tenderRepository, times(1)).countByStatusGrouped();
+    }
+
+    @Test
+    void unchangedSnapshot_shouldBeReusedWithoutQueries() {
+        DashboardResponse first = store.getSnapshot();
+        DashboardResponse second = store.getSnapshot();
+
+        assertSame(first, second);
+        verify(tenderRepository, times(1)).findRecentTenders(any(Pageable.class));
+        verify(bidRepository, times(1)).countByStatusGrouped();
+    }
+
+    @Test
+    void writeDuringReconcile_shouldLandOnTheReloadedCounters() throws Exception {
+        store.getSnapshot();
+
+        CountDownLatch reloading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Object[]> reloaded = new ArrayList<>();
+        reloaded.add(new Object[]{"OPEN", 10L});
+        when(tenderRepository.countByStatusGrouped()).thenAnswer(inv -> {
+            reloading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return reloaded;
+        });
+
+        Thread reconcile = new Thread(store::reconcile);
+        reconcile.start();
+        assertTrue(reloading.await(5, TimeUnit.SECONDS));
+
+        Tender tender = new Tender();
+        tender.setStatus("OPEN");
+        tender.setCreatedAt(LocalDateTime.now());
+        Thread writer = new Thread(() -> store.tenderCreated(tender));
+        writer.start();
+        // The write must wait for the swap instead of landing on the maps being replaced
+        writer.join(200);
+        assertTrue(writer.isAlive());
+
+        release.countDown();
+        reconcile.join(5000);
+        writer.join(5000);
+
+        assertEquals(11L, store.getSnapshot().getOpenTenders());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.services;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrayPagePoolTest {
+
+    @Test
+    void samePageSize_shouldReuseOneBuffer() throws Exception {
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage(PDRectangle.A4));
+            document.addPage(new PDPage(PDRectangle.A4));
+            PDFRenderer renderer = new PDFRenderer(document);
+            GrayPagePool pool = new GrayPagePool(2);
+
+            GrayPagePool.PageBuffer first = pool.render(renderer, document, 0, 72, 4000);
+            pool.release(first);
+            GrayPagePool.PageBuffer second = pool.render(renderer, document, 1, 72, 4000);
+
+            assertSame(first, second);
+            assertEquals(BufferedImage.TYPE_BYTE_GRAY, second.getImage().getType());
+            assertEquals(second.getWidth() * second.getHeight(), second.pixels().remaining());
+            assertEquals(1L, pool.getStats().get("allocated"));
+            assertEquals(1L, pool.getStats().get("reused"));
+        }
+    }
+
+    @Test
+    void render_shouldCapSizeAndSwapSidesForRotatedPages() throws Exception {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            page.setRotation(90);
+            document.addPage(page);
+            GrayPagePool pool = new GrayPagePool(1);
+
+            GrayPagePool.PageBuffer buffer = pool.render(new PDFRenderer(document), document, 0, 600, 4000);
+
+            assertEquals(4000, buffer.getWidth());
+            assertTrue(buffer.getHeight() < buffer.getWidth());
+        }
+    }
+}
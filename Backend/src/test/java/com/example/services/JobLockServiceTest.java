@@ -0,0 +1,63 @@
+package com.example.services;
+
+import com.example.repository.JobLockRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class JobLockServiceTest {
+
+    private final JobLockRepository repository = mock(JobLockRepository.class);
+    private final JobLockService service = new JobLockService("node-a");
+
+    JobLockServiceTest() {
+        ReflectionTestUtils.setField(service, "jobLockRepository", repository);
+    }
+
+    @Test
+    void runExclusively_shouldRunAndRecordWhenLeaseIsTaken() {
+        when(repository.tryAcquire(eq("job"), eq("node-a"), any(), any())).thenReturn(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertTrue(service.runExclusively("job", Duration.ofMinutes(10), Duration.ofMinutes(1), runs::incrementAndGet));
+
+        assertEquals(1, runs.get());
+        ArgumentCaptor<LocalDateTime> until = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).release(eq("job"), eq("node-a"), until.capture(), any(), anyLong(), eq("SUCCESS"), isNull());
+        // A fast run keeps the lease for lockAtLeastFor so a node with a lagging clock does not repeat it
+        assertTrue(until.getValue().isAfter(LocalDateTime.now().plusSeconds(50)));
+    }
+
+    @Test
+    void runExclusively_shouldSkipWhenAnotherNodeHoldsTheLease() {
+        when(repository.tryAcquire(eq("job"), eq("node-a"), any(), any())).thenReturn(0);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertFalse(service.runExclusively("job", Duration.ofMinutes(10), Duration.ofMinutes(1), runs::incrementAndGet));
+
+        assertEquals(0, runs.get());
+        verify(repository, never()).release(any(), any(), any(), any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void runExclusively_shouldRecordFailures() {
+        when(repository.tryAcquire(eq("job"), eq("node-a"), any(), any())).thenReturn(1);
+
+        assertTrue(service.runExclusively("job", Duration.ofMinutes(10), Duration.ZERO, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        verify(repository).release(eq("job"), eq("node-a"), any(), any(), anyLong(), eq("FAILED"),
+                contains("boom"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetPagingTest {
+
+    @Test
+    void cursor_shouldRoundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000);
+
+        KeysetPaging.Cursor cursor = KeysetPaging.decode(KeysetPaging.encode(createdAt, 42L));
+
+        assertEquals(createdAt, cursor.createdAt());
+        assertEquals(42L, cursor.id());
+        assertNull(KeysetPaging.decode(null));
+        assertNull(KeysetPaging.decode(""));
+    }
+
+    @Test
+    void encode_shouldRefuseRowWithoutCreatedAt() {
+        assertThrows(IllegalStateException.class, () -> KeysetPaging.encode(null, 42L));
+    }
+
+    @Test
+    void request_shouldRejectBadInput() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetPaging.Request.of("not-a-cursor", 10, null));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPaging.Request.of(null, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPaging.Request.of(null, 10, "cheapest"));
+    }
+
+    @Test
+    void request_shouldApplyDefaultsAndCapSize() {
+        KeysetPaging.Request defaults = KeysetPaging.Request.of(null, null, null);
+        assertEquals(KeysetPaging.DEFAULT_PAGE_SIZE, defaults.size());
+        assertFalse(defaults.ascending());
+
+        KeysetPaging.Request oldest = KeysetPaging.Request.of(null, 10_000, "oldest");
+        assertEquals(KeysetPaging.MAX_PAGE_SIZE, oldest.size());
+        assertTrue(oldest.ascending());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeywordAutomatonTest {
+
+    @Test
+    void scan_shouldFindOverlappingAndNestedKeywords() {
+        KeywordAutomaton automaton = new KeywordAutomaton(Arrays.asList(
+                "income tax", "income tax department", "tax", "pan", "pan card", "department"));
+
+        KeywordAutomaton.KeywordHits hits = automaton.scan("govt of india income tax department pan card");
+
+        assertTrue(hits.contains("income tax"));
+        assertTrue(hits.contains("income tax department"));
+        assertTrue(hits.contains("tax"));
+        assertTrue(hits.contains("department"));
+        assertTrue(hits.contains("pan card"));
+        assertTrue(hits.contains("PAN"), "lookups are case-insensitive");
+        assertEquals(6, hits.size());
+    }
+
+    @Test
+    void contains_shouldFallBackToSubstringForUnknownKeywords() {
+        KeywordAutomaton automaton = new KeywordAutomaton(List.of("gst"));
+        KeywordAutomaton.KeywordHits hits = automaton.scan("goods and services tax");
+
+        assertFalse(hits.contains("gst"));
+        assertTrue(hits.contains("services tax"));
+        assertFalse(hits.contains("insurance"));
+    }
+
+    @Test
+    void scan_shouldAgreeWithStringContains() {
+        List<String> keywords = Arrays.asList("ab", "abc", "bca", "c", "cab", "aab", "bb", "abab");
+        KeywordAutomaton automaton = new KeywordAutomaton(keywords);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 500; i++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(20);
+            for (int j = 0; j < length; j++) {
+                text.append("abc ".charAt(random.nextInt(4)));
+            }
+
+            KeywordAutomaton.KeywordHits hits = automaton.scan(text.toString());
+            for (String kw : keywords) {
+                assertEquals(text.toString().contains(kw), hits.contains(kw), "'" + kw + "' in '" + text + "'");
+            }
+        }
+    }
+}
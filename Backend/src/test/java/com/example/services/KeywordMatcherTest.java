@@ -0,0 +1,44 @@
+package com.example.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeywordMatcherTest {
+
+    private final KeywordMatcher keywordMatcher = new KeywordMatcher();
+
+    @Test
+    void analyze_shouldCollectIdsTokensAndKeywordsInOnePass() {
+        AnalyzedDocument doc = keywordMatcher.analyze(
+                "INCOME TAX DEPARTMENT\nPermanent Account Number: ABCDE 1234F\nDOB 01/02/1990 GSTIN 27ABCDE1234F1Z5");
+
+        assertEquals("ABCDE1234F", doc.getPanInNormalized());
+        assertEquals("27ABCDE1234F1Z5", doc.getGstin());
+        assertTrue(doc.hasDate());
+        assertTrue(doc.hasKeyword("income tax department"));
+        assertTrue(doc.hasKeyword("permanent account number"));
+        assertEquals("income", doc.getToken(0));
+        assertEquals(doc.getLowerText().length(), doc.getContent().length());
+    }
+
+    @Test
+    void validators_shouldGiveSameAnswerForStringAndAnalyzedDocument() {
+        String content = "Unique Identification Authority of India\nAadhaar 1234 5678 9012\nDOB 01/01/1990";
+        AnalyzedDocument doc = keywordMatcher.analyze(content);
+
+        assertEquals("123456789012", keywordMatcher.validateAadharCardInContent(doc));
+        assertEquals(keywordMatcher.validateAadharCardInContent(content), keywordMatcher.validateAadharCardInContent(doc));
+        assertEquals(keywordMatcher.validatePanCardInContent(content), keywordMatcher.validatePanCardInContent(doc));
+        assertNull(keywordMatcher.validatePanCardInContent(doc));
+    }
+
+    @Test
+    void analyze_shouldHandleNullContent() {
+        AnalyzedDocument doc = keywordMatcher.analyze(null);
+
+        assertTrue(doc.isBlank());
+        assertEquals(0, doc.getTokenCount());
+        assertNull(keywordMatcher.validateGSTInContent(doc));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginThrottleTest {
+
+    private final LoginThrottle throttle = new LoginThrottle(3, 5, 900, 1000);
+
+    @Test
+    void username_shouldBeThrottledAfterLimitUntilWindowPasses() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, throttle.retryAfterSeconds("alice", "10.0.0." + i));
+            throttle.recordFailure("alice", "10.0.0." + i);
+        }
+
+        long retryAfter = throttle.retryAfterSeconds("alice", "10.0.0.99");
+        assertTrue(retryAfter > 890 && retryAfter <= 900, "retryAfter was " + retryAfter);
+        assertEquals(0, throttle.retryAfterSeconds("bob", "10.0.0.99"));
+    }
+
+    @Test
+    void ip_shouldBeThrottledAcrossUsernames() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("user" + i, "10.0.0.1");
+        }
+
+        assertTrue(throttle.retryAfterSeconds("someone-else", "10.0.0.1") > 0);
+    }
+
+    @Test
+    void success_shouldClearUsernameButNotIp() {
+        throttle.recordFailure("alice", "10.0.0.1");
+        throttle.recordFailure("alice", "10.0.0.1");
+        throttle.recordSuccess("alice");
+        throttle.recordFailure("alice", "10.0.0.1");
+        throttle.recordFailure("alice", "10.0.0.1");
+
+        assertEquals(0, throttle.retryAfterSeconds("alice", "10.0.0.2"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.services;
+
+import com.example.dto.MonthlyActivityPoint;
+import com.example.entity.MonthlyActivity;
+import com.example.repository.MonthlyActivityRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyActivityServiceTest {
+
+    @Mock
+    private MonthlyActivityRepository monthlyActivityRepository;
+
+    @InjectMocks
+    private MonthlyActivityService monthlyActivityService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getSeries_shouldFillMonthsWithoutActivity() {
+        MonthlyActivity feb = new MonthlyActivity(LocalDate.of(2024, 2, 1), 3L, 7L, new BigDecimal("150.00"), null);
+        when(monthlyActivityRepository.findByMonthBetweenOrderByMonthAsc(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 1)))
+                .thenReturn(List.of(feb));
+
+        Map<String, Object> response = monthlyActivityService.getSeries("2024-01", "2024-04", null);
+
+        List<MonthlyActivityPoint> series = (List<MonthlyActivityPoint>) response.get("series");
+        assertEquals(4, series.size());
+        assertEquals("2024-01", series.get(0).getMonth());
+        assertEquals(0, series.get(0).getBids());
+        assertEquals(3, series.get(1).getTenders());
+        assertEquals(7, series.get(1).getBids());
+        assertEquals("2024-04", series.get(3).getMonth());
+    }
+
+    @Test
+    void getSeries_shouldRejectInvalidRanges() {
+        assertThrows(IllegalArgumentException.class, () -> monthlyActivityService.getSeries("2024-05", "2024-01", null));
+        assertThrows(IllegalArgumentException.class, () -> monthlyActivityService.getSeries("2000-01", "2024-01", null));
+        assertThrows(IllegalArgumentException.class, () -> monthlyActivityService.getSeries(null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> monthlyActivityService.getSeries("24-1", null, null));
+        verifyNoInteractions(monthlyActivityRepository);
+    }
+}
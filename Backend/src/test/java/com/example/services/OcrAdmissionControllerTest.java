@@ -0,0 +1,80 @@
+package com.example.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OcrAdmissionControllerTest {
+
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    void waitingDocuments_shouldBeAdmittedSmallestFileFirst() throws Exception {
+        OcrAdmissionController admission = new OcrAdmissionController(10, 512, 4, 5000, 4);
+        OcrAdmissionController.Permit running = admission.acquire(1, 10, MB);
+        List<Long> admittedOrder = new CopyOnWriteArrayList<>();
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            for (long size : new long[]{50 * MB, 2 * MB}) {
+                callers.submit(() -> {
+                    try (OcrAdmissionController.Permit permit = admission.acquire(size, 10, MB)) {
+                        admittedOrder.add(size);
+                    }
+                    return null;
+                });
+            }
+            while ((Integer) admission.getStats().get("queueDepth") < 2) {
+                Thread.onSpinWait();
+            }
+
+            running.close();
+            callers.shutdown();
+            assertTrue(callers.awaitTermination(5, TimeUnit.SECONDS));
+
+            assertEquals(List.of(2 * MB, 50 * MB), admittedOrder);
+            assertEquals(0, admission.getStats().get("pagesInFlight"));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void fullQueue_shouldRejectWithRetryAfter() throws Exception {
+        OcrAdmissionController admission = new OcrAdmissionController(10, 512, 1, 5000, 4);
+        OcrAdmissionController.Permit running = admission.acquire(1, 10, MB);
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> queued = callers.submit(() -> admission.acquire(1, 5, MB).close());
+            while ((Integer) admission.getStats().get("queueDepth") < 1) {
+                Thread.onSpinWait();
+            }
+
+            OcrOverloadedException e = assertThrows(OcrOverloadedException.class, () -> admission.acquire(1, 5, MB));
+            assertTrue(e.getRetryAfterSeconds() >= 1);
+            assertEquals(1L, admission.getStats().get("rejected"));
+
+            running.close();
+            queued.get(5, TimeUnit.SECONDS);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void memoryBudget_shouldQueueUntilTimeoutButAdmitOversizedDocumentWhenIdle() {
+        OcrAdmissionController admission = new OcrAdmissionController(1000, 100, 4, 50, 4);
+
+        // Larger than the whole budget, but nothing else is running
+        OcrAdmissionController.Permit oversized = admission.acquire(1, 1, 200 * MB);
+
+        assertThrows(OcrOverloadedException.class, () -> admission.acquire(1, 1, 10 * MB));
+        assertEquals(1L, admission.getStats().get("timedOut"));
+
+        oversized.close();
+        admission.acquire(1, 1, 10 * MB).close();
+        assertEquals(2L, admission.getStats().get("admitted"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OcrResultCacheTest {
+
+    private static final String HASH_A = "0123456789abcdef0123456789abcdef";
+    private static final String HASH_B = "fedcba9876543210fedcba9876543210";
+    private static final String HASH_C = "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    void putThenGet_shouldReturnCachedTextAcrossRestarts() {
+        OcrResultCache cache = new OcrResultCache(true, cacheDir.toString(), 1);
+        cache.put(HASH_A, "INCOME TAX DEPARTMENT - PAN CARD");
+
+        assertEquals("INCOME TAX DEPARTMENT - PAN CARD", cache.get(HASH_A));
+        assertNull(cache.get(HASH_B));
+
+        OcrResultCache reloaded = new OcrResultCache(true, cacheDir.toString(), 1);
+        assertEquals(1, reloaded.getEntryCount());
+        assertEquals("INCOME TAX DEPARTMENT - PAN CARD", reloaded.get(HASH_A));
+    }
+
+    @Test
+    void put_shouldEvictLeastRecentlyUsedEntriesAboveSizeLimit() throws Exception {
+        OcrResultCache cache = new OcrResultCache(true, cacheDir.toString(), 1);
+        String text = "x".repeat(400 * 1024);
+
+        cache.put(HASH_A, text);
+        Thread.sleep(5);
+        cache.put(HASH_B, text);
+        Thread.sleep(5);
+        cache.get(HASH_A);
+        Thread.sleep(5);
+        cache.put(HASH_C, text);
+
+        assertNotNull(cache.get(HASH_A));
+        assertNull(cache.get(HASH_B));
+        assertNotNull(cache.get(HASH_C));
+        assertTrue(cache.getTotalBytes() <= 1024 * 1024);
+    }
+
+    @Test
+    void get_shouldIgnoreKeysThatAreNotHexDigests() {
+        OcrResultCache cache = new OcrResultCache(true, cacheDir.toString(), 1);
+        cache.put("../escape", "text");
+
+        assertNull(cache.get("../escape"));
+        assertEquals(0, cache.getEntryCount());
+    }
+}
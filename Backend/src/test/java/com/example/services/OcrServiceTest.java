@@ -0,0 +1,154 @@
+package com.example.services;
+
+import net.sourceforge.tess4j.Tesseract;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.awt.Rectangle;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OcrServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final OcrService ocrService = new OcrService(2, 2, true, 20, 0.8, 2, 1,
+            new OcrAdmissionController(400, 2048, 16, 30_000, 2));
+
+    @AfterEach
+    void tearDown() {
+        ocrService.shutdown();
+    }
+
+    @Test
+    void scannedPages_shouldFlowThroughRenderAndOcrStages() throws Exception {
+        Path pdf = blankPdf("scan.pdf", 6);
+
+        AtomicInteger calls = new AtomicInteger();
+        Tesseract tesseract = mock(Tesseract.class);
+        when(tesseract.doOCR(anyInt(), anyInt(), any(ByteBuffer.class), isNull(Rectangle.class), eq(8)))
+                .thenAnswer(inv -> "page" + calls.incrementAndGet());
+        TesseractPool tesseractPool = mock(TesseractPool.class);
+        when(tesseractPool.borrow()).thenReturn(tesseract);
+        ReflectionTestUtils.setField(ocrService, "tesseractPool", tesseractPool);
+
+        String text = ocrService.extractTextFromFile(pdf, "scan.pdf", Files.size(pdf));
+
+        assertEquals(6, text.split(" ").length);
+        Map<String, Object> stages = ocrService.getPipelineStats();
+        assertEquals(6L, stages.get("renderedPages"));
+        assertEquals(6L, stages.get("ocrPages"));
+        // Each OCR worker borrows at most one engine and gives it back
+        verify(tesseractPool, atMost(2)).borrow();
+        verify(tesseractPool, atLeastOnce()).release(tesseract);
+        // Rendering is bounded by the queue, so a handful of buffers serve all six pages
+        assertTrue((Long) ocrService.getPagePoolStats().get("allocated") <= 5);
+    }
+
+    @Test
+    void moreConcurrentDocumentsThanPoolThreads_shouldAllComplete() throws Exception {
+        // Every document competes for two OCR and two render threads; none may wait on another's queued tasks
+        Path pdf = blankPdf("scan.pdf", 4);
+        Tesseract tesseract = mock(Tesseract.class);
+        when(tesseract.doOCR(anyInt(), anyInt(), any(ByteBuffer.class), isNull(Rectangle.class), eq(8))).thenAnswer(inv -> {
+            Thread.sleep(20);
+            return "page";
+        });
+        TesseractPool tesseractPool = mock(TesseractPool.class);
+        when(tesseractPool.borrow()).thenReturn(tesseract);
+        ReflectionTestUtils.setField(ocrService, "tesseractPool", tesseractPool);
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> ocrService.extractTextFromFile(pdf, "scan.pdf", Files.size(pdf))));
+            }
+            for (Future<String> result : results) {
+                assertEquals("page page page page", result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(32L, ocrService.getPipelineStats().get("ocrPages"));
+    }
+
+    @Test
+    void busyOcrPool_shouldStillOcrEveryPageBeforeTheResultIsCached() throws Exception {
+        // Another document holds every OCR thread for the whole extraction, so no worker of this one ever starts
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService ocrExecutor = (ExecutorService) ReflectionTestUtils.getField(ocrService, "ocrExecutor");
+        for (int i = 0; i < 2; i++) {
+            ocrExecutor.submit(() -> {
+                release.await();
+                return null;
+            });
+        }
+
+        Path pdf = blankPdf("scan.pdf", 3);
+        AtomicInteger calls = new AtomicInteger();
+        Tesseract tesseract = mock(Tesseract.class);
+        when(tesseract.doOCR(anyInt(), anyInt(), any(ByteBuffer.class), isNull(Rectangle.class), eq(8)))
+                .thenAnswer(inv -> {
+                    calls.incrementAndGet();
+                    return "page";
+                });
+        TesseractPool tesseractPool = mock(TesseractPool.class);
+        when(tesseractPool.borrow()).thenReturn(tesseract);
+        ReflectionTestUtils.setField(ocrService, "tesseractPool", tesseractPool);
+
+        OcrResultCache ocrResultCache = mock(OcrResultCache.class);
+        ContentValidationService validationService = new ContentValidationService();
+        ReflectionTestUtils.setField(validationService, "ocrService", ocrService);
+        ReflectionTestUtils.setField(validationService, "keywordMatcher", new KeywordMatcher());
+        ReflectionTestUtils.setField(validationService, "duplicateDetector", mock(DuplicateDetector.class));
+        ReflectionTestUtils.setField(validationService, "ocrResultCache", ocrResultCache);
+        ReflectionTestUtils.setField(validationService, "uploadSpooler", new UploadSpooler(tempDir.resolve("spool").toString()));
+
+        try {
+            MultipartFile upload = new MockMultipartFile("files", "scan.pdf", "application/pdf", Files.readAllBytes(pdf));
+            validationService.validateWithRules(List.of("PAN"), new MultipartFile[]{upload});
+        } finally {
+            release.countDown();
+        }
+
+        // Every page was OCR'd on the calling thread, and only the complete text reached the cache
+        assertEquals(3, calls.get());
+        verify(ocrResultCache).put(anyString(), eq("page page page"));
+        verify(ocrResultCache, never()).put(anyString(), argThat(text -> !"page page page".equals(text)));
+    }
+
+    // Blank pages have no usable text layer, so every page is rendered and OCR'd
+    private Path blankPdf(String name, int pages) throws Exception {
+        Path pdf = tempDir.resolve(name);
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < pages; i++) {
+                document.addPage(new PDPage(PDRectangle.A4));
+            }
+            document.save(pdf.toFile());
+        }
+        return pdf;
+    }
+}
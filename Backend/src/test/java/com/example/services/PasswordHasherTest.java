@@ -0,0 +1,59 @@
+package com.example.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PasswordHasherTest {
+
+    @Test
+    void matches_shouldRunOnPoolAndRecordLatency() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches("secret", "hash")).thenReturn(true);
+        PasswordHasher hasher = new PasswordHasher(encoder, 1, 1, 5000);
+
+        assertTrue(hasher.matches("secret", "hash"));
+
+        assertEquals(1L, hasher.getStats().get("hashes"));
+        hasher.shutdown();
+    }
+
+    @Test
+    void saturatedPool_shouldRejectFast() throws Exception {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(encoder.matches(any(), any())).thenAnswer(inv -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+        PasswordHasher hasher = new PasswordHasher(encoder, 1, 1, 5000);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // One hash running, one queued: the pool and its queue are full
+            Future<Boolean> running = callers.submit(() -> hasher.matches("a", "x"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<Boolean> queued = callers.submit(() -> hasher.matches("b", "x"));
+            while ((Integer) hasher.getStats().get("queueDepth") == 0) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(RejectedExecutionException.class, () -> hasher.matches("c", "x"));
+            assertEquals(1L, hasher.getStats().get("rejected"));
+
+            release.countDown();
+            assertTrue(running.get(5, TimeUnit.SECONDS));
+            assertTrue(queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+            hasher.shutdown();
+        }
+    }
+}
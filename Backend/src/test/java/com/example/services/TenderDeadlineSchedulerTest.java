@@ -0,0 +1,106 @@
+package com.example.services;
+
+import com.example.entity.Tender;
+import com.example.repository.TenderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenderDeadlineSchedulerTest {
+
+    @Mock
+    private TenderRepository tenderRepository;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private DashboardAggregateStore dashboardAggregateStore;
+
+    @InjectMocks
+    private TenderDeadlineScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduler, "refillIntervalMs", 300_000L);
+        scheduler.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void schedule_shouldCloseOnlyThatTenderWithinASecondOfItsDeadline() {
+        when(tenderRepository.closeIfExpired(eq(7L), any(LocalDateTime.class))).thenReturn(1);
+
+        scheduler.schedule(openTender(7L, 70L, LocalDateTime.now().plusNanos(300_000_000)));
+        verify(tenderRepository, after(150).never()).closeIfExpired(anyLong(), any());
+
+        verify(tenderRepository, timeout(1300)).closeIfExpired(eq(7L), any(LocalDateTime.class));
+        verify(cacheInvalidator, timeout(500)).tendersClosed(List.of(7L), List.of(70L));
+        verify(dashboardAggregateStore, timeout(500)).tenderStatusChanged("OPEN", "CLOSED");
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    void cancelledOrRescheduledDeadlines_shouldNotFire() {
+        scheduler.schedule(openTender(1L, 10L, LocalDateTime.now().plusNanos(100_000_000)));
+        scheduler.cancel(1L);
+        scheduler.schedule(openTender(2L, 20L, LocalDateTime.now().plusNanos(100_000_000)));
+        scheduler.schedule(openTender(2L, 20L, LocalDateTime.now().plusDays(1)));
+
+        verify(tenderRepository, after(500).never()).closeIfExpired(anyLong(), any());
+        // Tomorrow is past the refill window, so nothing stays queued until a refill brings it in
+        assertEquals(0, scheduler.pendingCount());
+        assertEquals(0, scheduler.queuedCount());
+    }
+
+    @Test
+    void reschedulingWithinTheWindow_shouldReplaceTheQueuedEntry() {
+        scheduler.schedule(openTender(4L, 40L, LocalDateTime.now().plusMinutes(5)));
+        scheduler.schedule(openTender(4L, 40L, LocalDateTime.now().plusMinutes(6)));
+        scheduler.schedule(openTender(5L, 50L, LocalDateTime.now().plusMinutes(5)));
+
+        assertEquals(2, scheduler.pendingCount());
+        assertEquals(2, scheduler.queuedCount());
+    }
+
+    @Test
+    void refill_shouldScheduleOpenTendersDueSoon() {
+        when(tenderRepository.findOpenTendersWithDeadlineBefore(any(LocalDateTime.class)))
+                .thenReturn(List.of(openTender(3L, 30L, LocalDateTime.now().minusMinutes(1))));
+
+        scheduler.refill();
+
+        verify(tenderRepository, timeout(1000)).closeIfExpired(eq(3L), any(LocalDateTime.class));
+        // Another instance closed it first: still evict the local cache entries, but don't count it again
+        verify(cacheInvalidator, timeout(500)).tendersClosed(List.of(3L), List.of(30L));
+        verifyNoInteractions(dashboardAggregateStore);
+    }
+
+    private static Tender openTender(Long id, Long createdBy, LocalDateTime deadline) {
+        Tender tender = new Tender();
+        tender.setId(id);
+        tender.setCreatedBy(createdBy);
+        tender.setStatus("OPEN");
+        tender.setDeadline(deadline);
+        return tender;
+    }
+}
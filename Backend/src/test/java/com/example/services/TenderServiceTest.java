@@ -12,9 +12,12 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,40 +26,73 @@ class TenderServiceTest {
     @Mock
     private TenderRepository tenderRepository;
 
+    @Mock
+    private DashboardAggregateStore dashboardAggregateStore;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private JobLockService jobLockService;
+
     @InjectMocks
     private TenderService tenderService;
 
     @Test
-    void getAllTenders_shouldAutoCloseExpiredOpenTenders() {
+    void getAllTenders_shouldShowExpiredOpenTendersAsClosedWithoutSaving() {
         Tender t1 = new Tender();
         t1.setId(1L);
         t1.setStatus("OPEN");
         t1.setDeadline(LocalDateTime.now().minusDays(1));
 
         when(tenderRepository.findAllTendersSorted()).thenReturn(Arrays.asList(t1));
-        when(tenderRepository.save(any(Tender.class))).thenAnswer(inv -> inv.getArgument(0));
 
         List<Tender> result = tenderService.getAllTenders();
 
         assertEquals(1, result.size());
         assertEquals("CLOSED", result.get(0).getStatus());
-        verify(tenderRepository, atLeastOnce()).save(any(Tender.class));
+        verify(tenderRepository, never()).save(any(Tender.class));
     }
 
     @Test
-    void getTenderById_shouldAutoCloseExpiredOpenTender() {
+    void getTenderById_shouldShowExpiredOpenTenderAsClosedWithoutSaving() {
         Tender t1 = new Tender();
         t1.setId(2L);
         t1.setStatus("OPEN");
         t1.setDeadline(LocalDateTime.now().minusHours(2));
 
         when(tenderRepository.findById(2L)).thenReturn(Optional.of(t1));
-        when(tenderRepository.save(any(Tender.class))).thenAnswer(inv -> inv.getArgument(0));
 
         Tender result = tenderService.getTenderById(2L);
 
         assertEquals("CLOSED", result.getStatus());
-        verify(tenderRepository, atLeastOnce()).save(any(Tender.class));
+        verify(tenderRepository, never()).save(any(Tender.class));
     }
-}
 
+    @Test
+    void closeExpiredTenders_shouldCloseInOneUpdateAndEvictOnlyThoseTenders() {
+        List<Object[]> expired = Arrays.asList(new Object[]{3L, 10L}, new Object[]{4L, 11L});
+        when(tenderRepository.findExpiredOpenTenderKeys(any(LocalDateTime.class))).thenReturn(expired);
+        when(tenderRepository.closeExpiredTenders(anyCollection(), any(LocalDateTime.class))).thenReturn(2);
+        when(jobLockService.runExclusively(eq("closeExpiredTenders"), any(), any(), any())).thenAnswer(inv -> {
+            inv.<Runnable>getArgument(3).run();
+            return true;
+        });
+
+        tenderService.closeExpiredTenders();
+
+        verify(tenderRepository).closeExpiredTenders(eq(List.of(3L, 4L)), any(LocalDateTime.class));
+        verify(tenderRepository, never()).save(any(Tender.class));
+        verify(cacheInvalidator).tendersClosed(List.of(3L, 4L), Set.of(10L, 11L));
+        verify(dashboardAggregateStore).tenderStatusChanged("OPEN", "CLOSED", 2);
+    }
+
+    @Test
+    void closeExpiredTenders_shouldSkipWhenAnotherInstanceHoldsTheLease() {
+        when(jobLockService.runExclusively(eq("closeExpiredTenders"), any(), any(), any())).thenReturn(false);
+
+        tenderService.closeExpiredTenders();
+
+        verifyNoInteractions(tenderRepository, cacheInvalidator, dashboardAggregateStore);
+    }
+}
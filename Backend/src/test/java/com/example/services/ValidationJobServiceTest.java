@@ -0,0 +1,93 @@
+package com.example.services;
+
+import com.example.dto.ValidationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ValidationJobServiceTest {
+
+    @TempDir
+    Path storageDir;
+
+    private ContentValidationService contentValidationService;
+    private ValidationJobService validationJobService;
+
+    @BeforeEach
+    void setup() {
+        contentValidationService = mock(ContentValidationService.class);
+        validationJobService = new ValidationJobService(1, 5, 60, storageDir.toString());
+        ReflectionTestUtils.setField(validationJobService, "contentValidationService", contentValidationService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validationJobService.shutdown();
+    }
+
+    @Test
+    void submit_shouldRunInBackgroundAndExposeResult() throws Exception {
+        ValidationResult result = new ValidationResult();
+        result.setValid(true);
+        result.setMessage("ok");
+        when(contentValidationService.validateWithRules(any(), any(), any())).thenAnswer(inv -> {
+            ValidationProgressListener listener = inv.getArgument(2);
+            MultipartFile[] files = inv.getArgument(1);
+            // Uploads are copied to job storage, so content is still readable after the request
+            assertEquals("%PDF-1.4", new String(files[0].getBytes()));
+            listener.onFileStatus("pan.pdf", "DONE");
+            return result;
+        });
+
+        ValidationJob job = validationJobService.submit(ValidationJob.Mode.RULES, List.of("PAN"),
+                new MultipartFile[]{new MockMultipartFile("files", "pan.pdf", "application/pdf", "%PDF-1.4".getBytes())});
+
+        waitUntilFinished(job);
+
+        assertEquals(ValidationJob.Status.COMPLETED, job.getStatus());
+        assertTrue(job.getResult().isValid());
+        assertEquals(1L, job.toStatusMap().get("processedFiles"));
+        assertFalse(storageDir.resolve(job.getId()).toFile().exists(), "job storage should be removed");
+    }
+
+    @Test
+    void cancel_shouldStopRunningJob() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(contentValidationService.validateWithRules(any(), any(), any())).thenAnswer(inv -> {
+            started.countDown();
+            Thread.sleep(10_000);
+            return new ValidationResult();
+        });
+
+        ValidationJob job = validationJobService.submit(ValidationJob.Mode.RULES, List.of("PAN"),
+                new MultipartFile[]{new MockMultipartFile("files", "pan.pdf", "application/pdf", "%PDF".getBytes())});
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(validationJobService.cancel(job.getId()));
+
+        assertEquals(ValidationJob.Status.CANCELLED, job.getStatus());
+        assertNull(job.getResult());
+        assertFalse(validationJobService.cancel(job.getId()), "finished job cannot be cancelled twice");
+    }
+
+    private void waitUntilFinished(ValidationJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}